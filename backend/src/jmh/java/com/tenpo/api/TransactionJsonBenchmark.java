@@ -0,0 +1,59 @@
+package com.tenpo.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tenpo.api.dto.CursorPageDTO;
+import com.tenpo.api.dto.TransactionResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization for transaction pages, with the mapper configured the
+ * way Spring Boot builds it from {@code application.yml} (SNAKE_CASE, ISO dates).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionJsonBenchmark {
+
+    @Param({ "50", "500" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<TransactionResponseDTO> transactions;
+    private CursorPageDTO<TransactionResponseDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        LocalDateTime date = LocalDateTime.of(2024, 5, 1, 12, 0);
+        transactions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            transactions.add(new TransactionResponseDTO(i + 1, 1000 + i, "Merchant " + (i % 20),
+                    date.minusMinutes(i), i % 50 + 1, "Tenpista " + (i % 50 + 1)));
+        }
+        page = new CursorPageDTO<>(transactions, String.valueOf(size));
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return objectMapper.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
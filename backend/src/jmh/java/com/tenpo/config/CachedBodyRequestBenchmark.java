@@ -0,0 +1,67 @@
+package com.tenpo.config;
+
+import jakarta.servlet.ServletInputStream;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.lang.NonNull;
+import org.springframework.mock.web.DelegatingServletInputStream;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What {@link ContentCachingFilter} adds to a rate-limited POST: copying the
+ * body into a {@link CachedBodyHttpServletRequest}, then reading it back once
+ * for the key resolver and once for the message converter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CachedBodyRequestBenchmark {
+
+    @Param({ "128", "16384" })
+    public int bodyBytes;
+
+    private MockHttpServletRequest request;
+    private byte[] buffer;
+
+    @Setup
+    public void setUp() {
+        String prefix = "{\"amount\":1500,\"tenpista_id\":1,\"merchant_or_business\":\"";
+        String padding = "x".repeat(Math.max(0, bodyBytes - prefix.length() - 2));
+        byte[] body = (prefix + padding + "\"}").getBytes(StandardCharsets.UTF_8);
+        // A fresh stream per call, like the container's request for each new request
+        request = new MockHttpServletRequest("POST", "/transactions") {
+            @Override
+            @NonNull
+            public ServletInputStream getInputStream() {
+                return new DelegatingServletInputStream(new ByteArrayInputStream(body));
+            }
+        };
+        buffer = new byte[8192];
+    }
+
+    @Benchmark
+    public CachedBodyHttpServletRequest wrap() throws IOException {
+        return new CachedBodyHttpServletRequest(request);
+    }
+
+    @Benchmark
+    public long wrapAndReadTwice() throws IOException {
+        CachedBodyHttpServletRequest wrapped = new CachedBodyHttpServletRequest(request);
+        return drain(wrapped.getInputStream()) + drain(wrapped.getInputStream());
+    }
+
+    private long drain(ServletInputStream in) throws IOException {
+        long total = 0;
+        for (int n; (n = in.read(buffer)) != -1;) {
+            total += n;
+        }
+        return total;
+    }
+}
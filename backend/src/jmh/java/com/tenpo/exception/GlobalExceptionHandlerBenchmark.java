@@ -0,0 +1,89 @@
+package com.tenpo.exception;
+
+import com.tenpo.api.dto.TransactionRequestDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the ProblemDetail for the common error paths. {@code throwAndHandle}
+ * also pays for creating the exception and filling in its stack trace, which
+ * dominates a real error response.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private RuntimeException notFound;
+    private TransactionLimitExceededException limitExceeded;
+    private MethodArgumentNotValidException invalid;
+    private CannotCreateTransactionException unavailable;
+    private Exception unexpected;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        notFound = new RuntimeException("Transaction not found");
+        limitExceeded = new TransactionLimitExceededException("Tenpista 1 has reached the maximum of 100 transactions.");
+        unavailable = new CannotCreateTransactionException("Could not open JPA EntityManager for transaction");
+        unexpected = new IllegalStateException("boom");
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new Object(), "transactionRequestDTO");
+        bindingResult.addError(new FieldError("transactionRequestDTO", "amount", "Amount cannot be negative"));
+        bindingResult.addError(new FieldError("transactionRequestDTO", "date", "Date cannot be in the future"));
+        invalid = new MethodArgumentNotValidException(new MethodParameter(
+                GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("create", TransactionRequestDTO.class), 0),
+                bindingResult);
+    }
+
+    @Benchmark
+    public ProblemDetail runtime() {
+        return handler.handleRuntimeException(notFound);
+    }
+
+    @Benchmark
+    public ProblemDetail transactionLimit() {
+        return handler.handleTransactionLimitExceededException(limitExceeded);
+    }
+
+    @Benchmark
+    public ProblemDetail validation() {
+        return handler.handleValidationException(invalid);
+    }
+
+    @Benchmark
+    public ResponseEntity<ProblemDetail> serviceUnavailable() {
+        return handler.handleConnectionUnavailableException(unavailable);
+    }
+
+    @Benchmark
+    public ProblemDetail general() {
+        return handler.handleGeneralException(unexpected);
+    }
+
+    @Benchmark
+    public ProblemDetail throwAndHandle() {
+        try {
+            throw new RuntimeException("Transaction not found");
+        } catch (RuntimeException e) {
+            return handler.handleRuntimeException(e);
+        }
+    }
+
+    // Only its signature is used, as the MethodParameter of the validation failure
+    @SuppressWarnings("unused")
+    private void create(TransactionRequestDTO request) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.tenpo.interceptor;
+
+import com.tenpo.config.CachedBodyHttpServletRequest;
+import com.tenpo.config.RateLimitProperties;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RateLimitInterceptor#preHandle} on the local token bucket: resolving
+ * {@code tenpista_id} from the cached body plus one bucket update. {@code allowed}
+ * spreads requests over many keys with room to spare; {@code denied} hits a
+ * single exhausted key and pays for writing the 429 body.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitInterceptorBenchmark {
+
+    private static final int KEYS = 10_000;
+
+    private RateLimitInterceptor roomyInterceptor;
+    private RateLimitInterceptor exhaustedInterceptor;
+    private CachedBodyHttpServletRequest[] requests;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        roomyInterceptor = interceptor(new RateLimitProperties(1_000_000, Duration.ofSeconds(20), KEYS * 2,
+                Duration.ofMinutes(10), RateLimitProperties.Mode.LOCAL, Duration.ofSeconds(1)));
+        exhaustedInterceptor = interceptor(new RateLimitProperties(1, Duration.ofHours(1), KEYS * 2,
+                Duration.ofMinutes(10), RateLimitProperties.Mode.LOCAL, Duration.ofSeconds(1)));
+
+        requests = new CachedBodyHttpServletRequest[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            requests[i] = transactionPost(i + 1);
+        }
+        exhaustedInterceptor.preHandle(requests[0], new MockHttpServletResponse(), this);
+    }
+
+    @Benchmark
+    public boolean allowed() throws Exception {
+        CachedBodyHttpServletRequest request = requests[next];
+        next = next + 1 == KEYS ? 0 : next + 1;
+        return roomyInterceptor.preHandle(request, new MockHttpServletResponse(), this);
+    }
+
+    @Benchmark
+    public boolean denied() throws Exception {
+        return exhaustedInterceptor.preHandle(requests[0], new MockHttpServletResponse(), this);
+    }
+
+    private static RateLimitInterceptor interceptor(RateLimitProperties properties) {
+        // Empty provider: the default body key resolver
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        return new RateLimitInterceptor(beanFactory.getBeanProvider(RateLimitKeyResolver.class),
+                new TokenBucketRateLimiter(properties, Clock.systemUTC()));
+    }
+
+    private static CachedBodyHttpServletRequest transactionPost(int tenpistaId) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/transactions");
+        request.setContentType("application/json");
+        request.setContent(String.format("{\"amount\":1500,\"merchant_or_business\":\"Starbucks\","
+                + "\"date\":\"2024-05-01T12:00:00\",\"tenpista_id\":%d}", tenpistaId)
+                .getBytes(StandardCharsets.UTF_8));
+        return new CachedBodyHttpServletRequest(request);
+    }
+}
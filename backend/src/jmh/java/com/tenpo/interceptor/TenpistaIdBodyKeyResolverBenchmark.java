@@ -0,0 +1,51 @@
+package com.tenpo.interceptor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tenpo.config.CachedBodyHttpServletRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the rate limit key from a cached transaction body: the streaming
+ * {@link TenpistaIdBodyKeyResolver} against the {@code readTree} lookup it
+ * replaced. Run with {@code -prof gc} to compare bytes allocated per request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TenpistaIdBodyKeyResolverBenchmark {
+
+    private static final String BODY = "{\"amount\":100,\"merchant_or_business\":\"Starbucks\","
+            + "\"date\":\"2024-01-01T10:00:00\",\"tenpista_id\":10,\"extra\":{\"nested\":[1,2,3]}}";
+
+    private final TenpistaIdBodyKeyResolver resolver = new TenpistaIdBodyKeyResolver();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CachedBodyHttpServletRequest request;
+
+    @Setup
+    public void setUp() throws IOException {
+        MockHttpServletRequest mock = new MockHttpServletRequest("POST", "/transactions");
+        mock.setContentType("application/json");
+        mock.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        request = new CachedBodyHttpServletRequest(mock);
+    }
+
+    @Benchmark
+    public String streaming() {
+        return resolver.resolveKey(request);
+    }
+
+    @Benchmark
+    public String readTree() throws IOException {
+        JsonNode node = objectMapper.readTree(request.getInputStream());
+        return node.has("tenpista_id") ? node.get("tenpista_id").asText() : null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.tenpo.service;
+
+import com.tenpo.api.dto.TransactionResponseDTO;
+import com.tenpo.model.Tenpista;
+import com.tenpo.model.Transaction;
+import com.tenpo.repository.TransactionRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TransactionService#getTransactionById} over an in-memory repository:
+ * the lookup-and-map path every transaction read goes through, without the
+ * database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionMappingBenchmark {
+
+    private TransactionService transactionService;
+
+    @Setup
+    public void setUp() {
+        Transaction transaction = Transaction.builder()
+                .id(42)
+                .amount(1500)
+                .merchantOrBusiness("Starbucks")
+                .date(LocalDateTime.of(2024, 5, 1, 12, 0))
+                .tenpista(Tenpista.builder().id(7).name("Tenpista 7").rut("12.345.678-9").build())
+                .build();
+        // findById is the only repository method the read calls
+        TransactionRepository repository = (TransactionRepository) Proxy.newProxyInstance(
+                TransactionRepository.class.getClassLoader(), new Class<?>[] { TransactionRepository.class },
+                (proxy, method, args) -> Optional.of(transaction));
+        transactionService = new TransactionService(repository, null, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public TransactionResponseDTO getTransactionById() {
+        return transactionService.getTransactionById(42);
+    }
+}
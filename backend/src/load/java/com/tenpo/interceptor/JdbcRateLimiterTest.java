@@ -0,0 +1,142 @@
+package com.tenpo.interceptor;
+
+import com.tenpo.config.RateLimitProperties;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against an embedded PostgreSQL because the limiter relies on
+ * {@code ON CONFLICT DO UPDATE} and the database clock, neither of which H2
+ * supports. Run with {@code mvn test -Pload-test -Dtest=JdbcRateLimiterTest}.
+ */
+@Tag("load")
+@DisplayName("JdbcRateLimiter Integration Tests")
+class JdbcRateLimiterTest {
+
+    private static EmbeddedPostgres postgres;
+    private static NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        jdbcTemplate = new NamedParameterJdbcTemplate(postgres.getPostgresDatabase());
+        jdbcTemplate.getJdbcTemplate().execute(
+                Files.readString(Path.of("src/main/resources/db/migration/V4__create_rate_limit_buckets.sql")));
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.getJdbcTemplate().execute("TRUNCATE rate_limit_buckets");
+    }
+
+    @Test
+    @DisplayName("Should share one bucket across replicas")
+    void shouldShareBucketAcrossReplicas() {
+        // Arrange: two limiters on the same table behave like two pods
+        JdbcRateLimiter podA = limiter(Duration.ZERO);
+        JdbcRateLimiter podB = limiter(Duration.ZERO);
+
+        // Act & Assert
+        assertThat(podA.tryAcquire("10")).isTrue();
+        assertThat(podB.tryAcquire("10")).isTrue();
+        assertThat(podA.tryAcquire("10")).isTrue();
+        assertThat(podB.tryAcquire("10")).isFalse();
+        assertThat(podA.tryAcquire("10")).isFalse();
+        assertThat(podA.tryAcquire("11")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should refill one token per interval of database time")
+    void shouldRefillOneTokenPerInterval() {
+        // Arrange
+        JdbcRateLimiter limiter = limiter(Duration.ZERO);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("10");
+        }
+        // Moving the bucket 20s into the past is the same as the database clock moving 20s forward
+        jdbcTemplate.update("UPDATE rate_limit_buckets SET refilled_at = refilled_at - 20000 WHERE bucket_key = :key",
+                new MapSqlParameterSource("key", "10"));
+
+        // Act & Assert
+        assertThat(limiter.tryAcquire("10")).isTrue();
+        assertThat(limiter.tryAcquire("10")).isFalse();
+        assertThat(tokens("10")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should grant exactly capacity when pods race on a new key")
+    void shouldGrantExactlyCapacityOnConcurrentFirstUse() throws Exception {
+        // Arrange
+        List<Callable<Boolean>> requests = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            JdbcRateLimiter pod = limiter(Duration.ZERO);
+            requests.add(() -> pod.tryAcquire("10"));
+        }
+
+        // Act
+        int allowed = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(requests.size())) {
+            for (Future<Boolean> result : executor.invokeAll(requests)) {
+                allowed += result.get() ? 1 : 0;
+            }
+        }
+
+        // Assert
+        assertThat(allowed).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep denying from the near cache without reading the table")
+    void shouldDenyFromNearCache() {
+        // Arrange
+        JdbcRateLimiter limiter = limiter(Duration.ofSeconds(1));
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("10");
+        }
+        assertThat(limiter.tryAcquire("10")).isFalse();
+
+        // Act: removing the bucket would grant a token if the database were consulted
+        jdbcTemplate.update("DELETE FROM rate_limit_buckets WHERE bucket_key = :key",
+                new MapSqlParameterSource("key", "10"));
+
+        // Assert
+        assertThat(limiter.tryAcquire("10")).isFalse();
+    }
+
+    private JdbcRateLimiter limiter(Duration nearCacheTtl) {
+        RateLimitProperties properties = new RateLimitProperties(3, Duration.ofSeconds(20), 1000,
+                Duration.ofSeconds(30), RateLimitProperties.Mode.JDBC, nearCacheTtl);
+        return new JdbcRateLimiter(jdbcTemplate, properties, Clock.systemUTC());
+    }
+
+    private Integer tokens(String key) {
+        return jdbcTemplate.queryForObject("SELECT tokens FROM rate_limit_buckets WHERE bucket_key = :key",
+                new MapSqlParameterSource("key", key), Integer.class);
+    }
+}
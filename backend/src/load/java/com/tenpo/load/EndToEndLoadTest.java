@@ -0,0 +1,302 @@
+package com.tenpo.load;
+
+import com.tenpo.BackendApiApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Full-stack load test: boots {@link BackendApiApplication} against an
+ * embedded PostgreSQL (migrated by Flyway, no network or Docker), seeds one
+ * tenpista per client, then replays a weighted CRUD mix from
+ * {@code load.clients} closed-loop clients for {@code load.duration}.
+ *
+ * <p>The rate limit and the per-tenpista cap are raised by
+ * {@code load.writeBudget} above what seeding uses, so measured writes reach
+ * the database instead of the 429 fast path. A 429, 409 or 412 is still
+ * reported as rejected, not as an error. Per endpoint, the run prints
+ * throughput, rejections, errors and p50/p90/p99/p99.9/max from an
+ * HdrHistogram. It writes the summary and each endpoint's {@code .hgrm}
+ * distribution to {@code load.reportDir}. It fails when an endpoint's p99
+ * exceeds {@code load.maxP99} (per-endpoint override:
+ * {@code load.maxP99.<OPERATION>}), its error rate exceeds
+ * {@code load.maxErrorRate}, or, for writes, its share of non-2xx responses
+ * exceeds {@code load.maxWriteRejectRate}.
+ *
+ * <p>Run with {@code mvn test -Pload-test -Dtest=EndToEndLoadTest}. The mix
+ * is set with {@code -Dload.mix=GET_TENPISTA=20,CREATE_TRANSACTION=10,...}
+ * (see {@link Operation}).
+ */
+@Tag("load")
+@DisplayName("End-to-End Load Test")
+class EndToEndLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 50);
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT5S"));
+    private static final LoadMix MIX = LoadMix.parse(System.getProperty("load.mix", LoadMix.DEFAULT));
+    private static final Duration MAX_P99 = Duration.parse(System.getProperty("load.maxP99", "PT1S"));
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.001"));
+    private static final Path REPORT_DIR = Path.of(System.getProperty("load.reportDir", "target/load-report"));
+    private static final double MAX_WRITE_REJECT_RATE =
+            Double.parseDouble(System.getProperty("load.maxWriteRejectRate", "0.05"));
+    private static final int SEED_TRANSACTIONS_PER_CLIENT = 20;
+    private static final int WRITE_BUDGET = Integer.getInteger("load.writeBudget", 100_000);
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+
+    @Test
+    @DisplayName("Should keep every endpoint within its latency and error thresholds")
+    void shouldStayWithinThresholds() throws Exception {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation));
+        }
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+                ConfigurableApplicationContext context = start(postgres);
+                HttpClient client = HttpClient.newBuilder()
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build()) {
+            String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<ClientState> clients = seed(client, base);
+
+            drive(client, base, clients, WARMUP);
+            stats.values().forEach(EndpointStats::reset);
+            drive(client, base, clients, DURATION);
+        }
+
+        List<String> violations = report();
+        assertThat(violations).as("threshold violations").isEmpty();
+    }
+
+    private static ConfigurableApplicationContext start(EmbeddedPostgres postgres) {
+        // Replaces the H2 settings from the test application.yml with the production database setup; passed as
+        // arguments because builder properties are only defaults, which the test application.yml overrides
+        return new SpringApplicationBuilder(BackendApiApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.maximum-pool-size=10",
+                        "--spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true",
+                        "--spring.datasource.hikari.data-source-properties.prepareThreshold=3",
+                        "--spring.datasource.hikari.data-source-properties.preparedStatementCacheQueries=256",
+                        "--spring.flyway.enabled=true",
+                        "--spring.flyway.postgresql.transactional-lock=false",
+                        "--spring.sql.init.mode=never",
+                        "--spring.jpa.defer-datasource-initialization=false",
+                        "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--spring.threads.virtual.enabled=true",
+                        // Seed batches are charged per item and count toward the cap; the budget on top keeps the
+                        // measured POST /transactions off the 429 and 409 paths
+                        "--tenpo.rate-limit.capacity=" + (SEED_TRANSACTIONS_PER_CLIENT + WRITE_BUDGET),
+                        "--tenpo.transaction.max-per-client=" + (SEED_TRANSACTIONS_PER_CLIENT + WRITE_BUDGET),
+                        "--logging.level.root=WARN");
+    }
+
+    private List<ClientState> seed(HttpClient client, String base) throws Exception {
+        List<ClientState> clients = new ArrayList<>(CLIENTS);
+        LocalDateTime date = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int c = 0; c < CLIENTS; c++) {
+            String rut = (20_000_000 + c) + "-" + (c % 10);
+            int tenpistaId = firstId(send(client, json(base + "/tenpistas", "POST",
+                    String.format("{\"name\":\"Load %d\",\"rut\":\"%s\"}", c, rut))));
+
+            StringBuilder batch = new StringBuilder("[");
+            for (int i = 0; i < SEED_TRANSACTIONS_PER_CLIENT; i++) {
+                batch.append(i == 0 ? "" : ",").append(transactionJson(100 + i, "Merchant " + (i % 7),
+                        date.plusHours((long) c * SEED_TRANSACTIONS_PER_CLIENT + i), tenpistaId));
+            }
+            String results = send(client, json(base + "/transactions/batch", "POST", batch.append("]").toString()));
+            List<Integer> transactionIds = new ArrayList<>();
+            Matcher matcher = ID.matcher(results);
+            while (matcher.find()) {
+                transactionIds.add(Integer.parseInt(matcher.group(1)));
+            }
+            assertThat(transactionIds).as("seeded transactions for client %d", c)
+                    .hasSize(SEED_TRANSACTIONS_PER_CLIENT);
+            clients.add(new ClientState(c, tenpistaId, rut, transactionIds));
+        }
+        return clients;
+    }
+
+    // Closed loop: each client sends its next request as soon as the previous one completes
+    private void drive(HttpClient client, String base, List<ClientState> clients, Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (ClientState state : clients) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = MIX.next();
+                        HttpRequest request = request(operation, base, state);
+                        if (request == null) {
+                            continue;
+                        }
+                        EndpointStats endpoint = stats.get(operation);
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                            endpoint.record(response.statusCode(), System.nanoTime() - start);
+                            if (operation == Operation.CREATE_TRANSACTION && response.statusCode() == 201) {
+                                state.created.push(firstId(response.body()));
+                            }
+                        } catch (IOException e) {
+                            endpoint.recordError();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    // Each client only touches its own tenpista and transactions, so conflicts come from the API, not the driver
+    private static HttpRequest request(Operation operation, String base, ClientState state) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int seeded = state.transactionIds.get(random.nextInt(state.transactionIds.size()));
+        return switch (operation) {
+            case GET_TENPISTA -> get(base + "/tenpistas/" + state.tenpistaId);
+            case LIST_TENPISTA_TRANSACTIONS -> get(base + "/tenpistas/" + state.tenpistaId + "/transactions?limit=20");
+            case LIST_TRANSACTIONS -> get(base + "/transactions?limit=50&sort=desc");
+            case GET_TRANSACTION -> get(base + "/transactions/" + seeded);
+            case CREATE_TENPISTA -> json(base + "/tenpistas", "POST", String.format(
+                    "{\"name\":\"Load %d\",\"rut\":\"%d-%d\"}", state.index, 30_000_000 + random.nextInt(60_000_000),
+                    random.nextInt(10)));
+            case UPDATE_TENPISTA -> json(base + "/tenpistas/" + state.tenpistaId, "PUT", String.format(
+                    "{\"name\":\"Load %d-%d\",\"rut\":\"%s\"}", state.index, random.nextInt(1000), state.rut));
+            case CREATE_TRANSACTION -> json(base + "/transactions", "POST", transactionJson(random.nextInt(1, 5000),
+                    "Merchant " + random.nextInt(7), LocalDateTime.now().minusDays(1), state.tenpistaId));
+            case UPDATE_TRANSACTION -> json(base + "/transactions/" + seeded, "PUT", transactionJson(
+                    random.nextInt(1, 5000), "Merchant " + random.nextInt(7),
+                    LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(random.nextInt(100_000)), state.tenpistaId));
+            case DELETE_TRANSACTION -> state.created.isEmpty()
+                    ? null
+                    : HttpRequest.newBuilder(URI.create(base + "/transactions/" + state.created.pop()))
+                            .DELETE().build();
+        };
+    }
+
+    private List<String> report() throws IOException {
+        Files.createDirectories(REPORT_DIR);
+        List<String> violations = new ArrayList<>();
+        double seconds = DURATION.toNanos() / 1e9;
+        try (PrintStream summary = new PrintStream(Files.newOutputStream(REPORT_DIR.resolve("summary.txt")))) {
+            for (PrintStream out : List.of(System.out, summary)) {
+                out.printf("%nclients=%d duration=%s mix=%s%n", CLIENTS, DURATION, MIX);
+                out.printf("%-34s %8s %8s %8s %8s %8s %8s %8s %8s %8s%n", "endpoint", "requests", "req/s",
+                        "rejected", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+                stats.values().stream().filter(s -> s.total() > 0).forEach(s -> s.printRow(out, seconds));
+            }
+        }
+
+        for (EndpointStats endpoint : stats.values()) {
+            if (endpoint.total() == 0) {
+                continue;
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(
+                    REPORT_DIR.resolve(endpoint.operation().name().toLowerCase() + ".hgrm")))) {
+                endpoint.printDistribution(out);
+            }
+            Duration maxP99 = Duration.parse(System.getProperty(
+                    "load.maxP99." + endpoint.operation().name(), MAX_P99.toString()));
+            if (endpoint.percentileMillis(99) > maxP99.toMillis()) {
+                violations.add(String.format("%s p99 %.1f ms > %d ms", endpoint.operation().endpoint(),
+                        endpoint.percentileMillis(99), maxP99.toMillis()));
+            }
+            if (endpoint.errorRate() > MAX_ERROR_RATE) {
+                violations.add(String.format("%s error rate %.4f > %.4f (%d errors)",
+                        endpoint.operation().endpoint(), endpoint.errorRate(), MAX_ERROR_RATE, endpoint.errors()));
+            }
+            if (endpoint.operation().isWrite() && endpoint.notOkRate() > MAX_WRITE_REJECT_RATE) {
+                violations.add(String.format("%s non-2xx rate %.4f > %.4f (%d of %d)", endpoint.operation().endpoint(),
+                        endpoint.notOkRate(), MAX_WRITE_REJECT_RATE, endpoint.total() - endpoint.ok(),
+                        endpoint.total()));
+            }
+        }
+        return violations;
+    }
+
+    private static String transactionJson(int amount, String merchant, LocalDateTime date, int tenpistaId) {
+        return String.format("{\"amount\":%d,\"merchant_or_business\":\"%s\",\"date\":\"%s\",\"tenpista_id\":%d}",
+                amount, merchant, date.withNano(0), tenpistaId);
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).GET().build();
+    }
+
+    private static HttpRequest json(String uri, String method, String body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String send(HttpClient client, HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as("%s %s: %s", request.method(), request.uri(), response.body())
+                .isBetween(200, 299);
+        return response.body();
+    }
+
+    private static int firstId(String body) {
+        Matcher matcher = ID.matcher(body);
+        assertThat(matcher.find()).as("id in %s", body).isTrue();
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    private static final class ClientState {
+
+        private final int index;
+        private final int tenpistaId;
+        private final String rut;
+        private final List<Integer> transactionIds;
+        // Transactions this client created during the run; only these are deleted
+        private final Deque<Integer> created = new ArrayDeque<>();
+
+        ClientState(int index, int tenpistaId, String rut, List<Integer> transactionIds) {
+            this.index = index;
+            this.tenpistaId = tenpistaId;
+            this.rut = rut;
+            this.transactionIds = transactionIds;
+        }
+    }
+}
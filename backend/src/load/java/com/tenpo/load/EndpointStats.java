@@ -0,0 +1,96 @@
+package com.tenpo.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters for one {@link Operation}.
+ *
+ * <p>Responses fall into three buckets. 2xx are {@code ok}. 429, 409 and 412
+ * are {@code rejected}: the API refused the request on purpose because of
+ * the rate limit, the per-tenpista cap or a concurrent update. Anything else,
+ * including I/O failures, is an {@code error}. Only ok and rejected
+ * responses are timed.
+ */
+final class EndpointStats {
+
+    // Microseconds, up to one minute, 3 significant digits
+    private final Histogram histogram = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Operation operation;
+
+    EndpointStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    void record(int status, long elapsedNanos) {
+        if (status >= 200 && status < 300) {
+            ok.increment();
+        } else if (status == 429 || status == 409 || status == 412) {
+            rejected.increment();
+        } else {
+            errors.increment();
+            return;
+        }
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), histogram.getHighestTrackableValue()));
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void reset() {
+        histogram.reset();
+        ok.reset();
+        rejected.reset();
+        errors.reset();
+    }
+
+    Operation operation() {
+        return operation;
+    }
+
+    long total() {
+        return ok.sum() + rejected.sum() + errors.sum();
+    }
+
+    long ok() {
+        return ok.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    double errorRate() {
+        long total = total();
+        return total == 0 ? 0 : (double) errors.sum() / total;
+    }
+
+    // Rejected and failed together: the share of requests that wrote nothing
+    double notOkRate() {
+        long total = total();
+        return total == 0 ? 0 : (double) (total - ok.sum()) / total;
+    }
+
+    double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    void printRow(PrintStream out, double seconds) {
+        out.printf("%-34s %8d %8.1f %8d %8d %8.1f %8.1f %8.1f %8.1f %8.1f%n", operation.endpoint(), total(),
+                total() / seconds, rejected.sum(), errors.sum(), percentileMillis(50), percentileMillis(90),
+                percentileMillis(99), percentileMillis(99.9), histogram.getMaxValue() / 1000.0);
+    }
+
+    // Full percentile distribution in HdrHistogram's .hgrm format, in milliseconds
+    void printDistribution(PrintStream out) {
+        histogram.outputPercentileDistribution(out, 1000.0);
+    }
+}
@@ -0,0 +1,66 @@
+package com.tenpo.load;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted choice between load-test operations. Parsed from
+ * {@code OPERATION=weight,...}; operations left out get weight 0.
+ */
+final class LoadMix {
+
+    static final String DEFAULT = "GET_TENPISTA=20,LIST_TENPISTA_TRANSACTIONS=20,LIST_TRANSACTIONS=15,"
+            + "GET_TRANSACTION=15,CREATE_TENPISTA=3,UPDATE_TENPISTA=5,CREATE_TRANSACTION=12,"
+            + "UPDATE_TRANSACTION=5,DELETE_TRANSACTION=5";
+
+    private final List<Operation> operations = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final Map<Operation, Integer> weights;
+
+    private LoadMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                operations.add(entry.getKey());
+                cumulative.add(total);
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Load mix needs at least one operation with a positive weight");
+        }
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    static LoadMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid load mix entry: " + part);
+            }
+            weights.put(Operation.valueOf(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+        }
+        return new LoadMix(weights);
+    }
+
+    Operation next() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations.get(i);
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    @Override
+    public String toString() {
+        return weights.toString();
+    }
+}
@@ -0,0 +1,31 @@
+package com.tenpo.load;
+
+/**
+ * One kind of request the load test can send; reported as its own row.
+ */
+enum Operation {
+
+    GET_TENPISTA("GET /tenpistas/{id}"),
+    LIST_TENPISTA_TRANSACTIONS("GET /tenpistas/{id}/transactions"),
+    LIST_TRANSACTIONS("GET /transactions"),
+    GET_TRANSACTION("GET /transactions/{id}"),
+    CREATE_TENPISTA("POST /tenpistas"),
+    UPDATE_TENPISTA("PUT /tenpistas/{id}"),
+    CREATE_TRANSACTION("POST /transactions"),
+    UPDATE_TRANSACTION("PUT /transactions/{id}"),
+    DELETE_TRANSACTION("DELETE /transactions/{id}");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    boolean isWrite() {
+        return !endpoint.startsWith("GET ");
+    }
+}
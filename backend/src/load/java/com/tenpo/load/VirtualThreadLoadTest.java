@@ -0,0 +1,190 @@
+package com.tenpo.load;
+
+import com.tenpo.BackendApiApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application twice, once on Tomcat's platform thread pool and once
+ * on virtual threads, and drives both with the same read-heavy closed-loop load
+ * from {@code load.clients} concurrent clients for {@code load.duration}.
+ * Prints throughput and latency percentiles for each mode.
+ *
+ * <p>Only compiled and run with {@code mvn test -Pload-test -Dtest=VirtualThreadLoadTest}.
+ * H2 in memory answers in microseconds, so this understates the time a
+ * request spends blocked on a real database round-trip.
+ */
+@Tag("load")
+@DisplayName("Virtual Thread Load Test")
+class VirtualThreadLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 1000);
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT15S"));
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final int TENPISTAS = 20;
+    private static final int TRANSACTIONS_PER_TENPISTA = 50;
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    @Test
+    @DisplayName("Should compare throughput and p99 on platform and virtual threads")
+    void shouldComparePlatformAndVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%n%-10s %8s %10s %8s %8s %8s %8s%n",
+                "mode", "clients", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Result result : List.of(platform, virtual)) {
+            System.out.printf("%-10s %8d %10.0f %8.1f %8.1f %8.1f %8d%n", result.mode(), CLIENTS,
+                    result.throughput(), result.percentileMillis(0.50), result.percentileMillis(0.99),
+                    result.percentileMillis(1.0), result.errors());
+        }
+
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApiApplication.class)
+                // Arguments, not builder properties: those are only defaults, which the test application.yml overrides
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=10",
+                        "--spring.jpa.show-sql=false",
+                        "--tenpo.db-gate.acquire-timeout=30s",
+                        // Seed batches are charged per item against the rate limit
+                        "--tenpo.rate-limit.capacity=" + TRANSACTIONS_PER_TENPISTA,
+                        "--logging.level.root=WARN");
+                HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .build()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port;
+            List<Integer> tenpistaIds = seed(client, base);
+
+            drive(client, base, tenpistaIds, WARMUP);
+            return new Result(mode, drive(client, base, tenpistaIds, DURATION), DURATION);
+        }
+    }
+
+    private List<Integer> seed(HttpClient client, String base) throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        LocalDateTime date = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < TENPISTAS; i++) {
+            String tenpista = send(client, HttpRequest.newBuilder(URI.create(base + "/tenpistas"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                            "{\"name\":\"Load %d\",\"rut\":\"%d-%d\"}", i, 10_000_000 + i, i % 10)))
+                    .build());
+            Matcher matcher = ID.matcher(tenpista);
+            assertThat(matcher.find()).as("created tenpista: %s", tenpista).isTrue();
+            int id = Integer.parseInt(matcher.group(1));
+            ids.add(id);
+
+            StringBuilder batch = new StringBuilder("[");
+            for (int j = 0; j < TRANSACTIONS_PER_TENPISTA; j++) {
+                batch.append(j == 0 ? "" : ",").append(String.format(
+                        "{\"amount\":%d,\"merchant_or_business\":\"Merchant %d\",\"date\":\"%s\",\"tenpista_id\":%d}",
+                        100 + j, j % 7, date.plusHours(j), id));
+            }
+            send(client, HttpRequest.newBuilder(URI.create(base + "/transactions/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(batch.append("]").toString()))
+                    .build());
+        }
+        return ids;
+    }
+
+    // Closed loop: each client sends its next request as soon as the previous one completes
+    private Samples drive(HttpClient client, String base, List<Integer> tenpistaIds, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicInteger errors = new AtomicInteger();
+        List<Future<long[]>> futures = new ArrayList<>(CLIENTS);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                int clientId = c;
+                futures.add(clients.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    for (int i = 0; System.nanoTime() < deadline; i++) {
+                        int tenpistaId = tenpistaIds.get((clientId + i) % tenpistaIds.size());
+                        String path = i % 4 == 3
+                                ? "/tenpistas/summary?limit=20"
+                                : "/tenpistas/" + tenpistaId + "/transactions?limit=20";
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(
+                                HttpRequest.newBuilder(URI.create(base + path)).GET().build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        long elapsed = System.nanoTime() - start;
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = elapsed;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        List<long[]> perClient = new ArrayList<>(futures.size());
+        for (Future<long[]> future : futures) {
+            perClient.add(future.get());
+        }
+        long[] all = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Samples(all, errors.get());
+    }
+
+    private static String send(HttpClient client, HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as("%s %s", request.method(), request.uri()).isBetween(200, 299);
+        return response.body();
+    }
+
+    private record Samples(long[] sortedNanos, int errors) {
+    }
+
+    private record Result(String mode, Samples samples, Duration duration) {
+
+        double throughput() {
+            return samples.sortedNanos().length / (duration.toNanos() / 1e9);
+        }
+
+        double percentileMillis(double percentile) {
+            long[] sorted = samples.sortedNanos();
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+
+        int errors() {
+            return samples.errors();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.tenpo.api;
+
+import com.tenpo.api.dto.MerchantBucketDTO;
+import com.tenpo.service.MerchantAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final MerchantAnalyticsService merchantAnalyticsService;
+
+    // Inclusive date range; defaults to the last 7 days ending today
+    @GetMapping("/merchants")
+    public ResponseEntity<List<MerchantBucketDTO>> getTopMerchants(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String bucket,
+            @RequestParam(defaultValue = "10") int top) {
+        return ResponseEntity.ok(merchantAnalyticsService.getTopMerchants(from, to, bucket, top));
+    }
+
+    @PostMapping("/merchants/rebuild")
+    public ResponseEntity<Void> rebuildMerchantRollups() {
+        merchantAnalyticsService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
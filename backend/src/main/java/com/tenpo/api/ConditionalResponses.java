@@ -0,0 +1,38 @@
+package com.tenpo.api;
+
+import com.tenpo.service.Versioned;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional request support. For GETs, when the client's {@code If-None-Match}
+ * matches the ETag, the response is a bodiless 304 and {@code body} is never
+ * invoked, so no entity query or serialization happens. {@code If-Match} on
+ * writes is evaluated by the services against the row version they load.
+ */
+final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    // Returning null tells Spring MVC the 304 set by checkNotModified is the complete response
+    static <T> ResponseEntity<T> ok(WebRequest webRequest, String etag, Supplier<T> body) {
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        // no-cache: clients may store the body but must revalidate it on every use
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(body.get());
+    }
+
+    static <T> ResponseEntity<T> ok(Versioned<T> versioned) {
+        return ResponseEntity.ok()
+                .eTag(versioned.etag())
+                .body(versioned.body());
+    }
+}
@@ -1,14 +1,23 @@
 package com.tenpo.api;
 
+import com.tenpo.api.dto.CursorPageDTO;
 import com.tenpo.api.dto.TenpistaRequestDTO;
 import com.tenpo.api.dto.TenpistaResponseDTO;
+import com.tenpo.api.dto.TenpistaSummaryDTO;
+import com.tenpo.api.dto.TransactionResponseDTO;
+import com.tenpo.model.ResourceVersion;
+import com.tenpo.service.ResourceVersionService;
 import com.tenpo.service.TenpistaService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -17,6 +26,7 @@ import java.util.List;
 public class TenpistaController {
 
     private final TenpistaService tenpistaService;
+    private final ResourceVersionService resourceVersionService;
 
     @PostMapping
     public ResponseEntity<TenpistaResponseDTO> createTenpista(@Valid @RequestBody TenpistaRequestDTO request) {
@@ -24,19 +34,45 @@ public class TenpistaController {
     }
 
     @GetMapping
-    public ResponseEntity<List<TenpistaResponseDTO>> getAllTenpistas() {
-        return ResponseEntity.ok(tenpistaService.getAllTenpistas());
+    public ResponseEntity<List<TenpistaResponseDTO>> getAllTenpistas(WebRequest webRequest) {
+        return ConditionalResponses.ok(webRequest, resourceVersionService.etag(ResourceVersion.TENPISTAS),
+                tenpistaService::getAllTenpistas);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<List<TenpistaSummaryDTO>> getTenpistaSummaries(@RequestParam(defaultValue = "50") int limit,
+            WebRequest webRequest) {
+        return ConditionalResponses.ok(webRequest, tenpistasAndTransactionsEtag(),
+                () -> tenpistaService.getTenpistaSummaries(limit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TenpistaResponseDTO> getTenpistaById(@PathVariable Integer id) {
-        return ResponseEntity.ok(tenpistaService.getTenpistaById(id));
+    public ResponseEntity<TenpistaResponseDTO> getTenpistaById(@PathVariable Integer id, WebRequest webRequest) {
+        return ConditionalResponses.ok(webRequest, tenpistaService.getTenpistaEtag(id),
+                () -> tenpistaService.getTenpistaById(id));
+    }
+
+    @GetMapping("/{id}/transactions")
+    public ResponseEntity<CursorPageDTO<TransactionResponseDTO>> getTenpistaTransactions(@PathVariable Integer id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String cursor,
+            WebRequest webRequest) {
+        return ConditionalResponses.ok(webRequest, tenpistasAndTransactionsEtag(),
+                () -> tenpistaService.getTenpistaTransactions(id, from, to, limit, cursor));
+    }
+
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<TenpistaSummaryDTO> getTenpistaSummary(@PathVariable Integer id, WebRequest webRequest) {
+        return ConditionalResponses.ok(webRequest, tenpistasAndTransactionsEtag(), () -> tenpistaService.getTenpistaSummary(id));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<TenpistaResponseDTO> updateTenpista(@PathVariable Integer id,
-            @Valid @RequestBody TenpistaRequestDTO request) {
-        return ResponseEntity.ok(tenpistaService.updateTenpista(id, request));
+            @Valid @RequestBody TenpistaRequestDTO request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ConditionalResponses.ok(tenpistaService.updateTenpista(id, request, ifMatch));
     }
 
     @DeleteMapping("/{id}")
@@ -44,4 +80,9 @@ public class TenpistaController {
         tenpistaService.deleteTenpista(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Transaction listings and summaries change with either table
+    private String tenpistasAndTransactionsEtag() {
+        return resourceVersionService.etag(ResourceVersion.TENPISTAS, ResourceVersion.TRANSACTIONS);
+    }
 }
@@ -1,14 +1,28 @@
 package com.tenpo.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.tenpo.api.dto.CursorPageDTO;
+import com.tenpo.api.dto.TransactionBatchResponseDTO;
 import com.tenpo.api.dto.TransactionRequestDTO;
 import com.tenpo.api.dto.TransactionResponseDTO;
+import com.tenpo.model.ResourceVersion;
+import com.tenpo.service.ResourceVersionService;
 import com.tenpo.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -17,26 +31,88 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final ResourceVersionService resourceVersionService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<TransactionResponseDTO> createTransaction(@Valid @RequestBody TransactionRequestDTO request) {
         return new ResponseEntity<>(transactionService.createTransaction(request), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TransactionBatchResponseDTO> createTransactions(
+            @RequestBody List<TransactionRequestDTO> requests) {
+        return batchResponse(transactionService.createTransactions(requests));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<TransactionBatchResponseDTO> createTransactionsFromNdjson(InputStream body)
+            throws IOException {
+        List<TransactionRequestDTO> requests = objectMapper.readerFor(TransactionRequestDTO.class)
+                .<TransactionRequestDTO>readValues(body)
+                .readAll();
+        return batchResponse(transactionService.createTransactions(requests));
+    }
+
     @GetMapping
-    public ResponseEntity<List<TransactionResponseDTO>> getAllTransactions() {
-        return ResponseEntity.ok(transactionService.getAllTransactions());
+    public ResponseEntity<CursorPageDTO<TransactionResponseDTO>> getTransactions(
+            @RequestParam(required = false) Integer after,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "asc") String sort,
+            WebRequest webRequest) {
+        return ConditionalResponses.ok(webRequest, transactionsEtag(),
+                () -> transactionService.getTransactions(after, limit, Sort.Direction.fromString(sort)));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        if (!"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                transactionService.exportTransactions(transaction -> {
+                    try {
+                        writer.write(transaction);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Responses embed tenpista names, so both tables feed the ETag
+    private String transactionsEtag() {
+        return resourceVersionService.etag(ResourceVersion.TENPISTAS, ResourceVersion.TRANSACTIONS);
+    }
+
+    private ResponseEntity<TransactionBatchResponseDTO> batchResponse(TransactionBatchResponseDTO response) {
+        // 201 when every item was created, 207 when the caller has to inspect per-item results
+        HttpStatus status = response.failed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(response, status);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TransactionResponseDTO> getTransactionById(@PathVariable Integer id) {
-        return ResponseEntity.ok(transactionService.getTransactionById(id));
+    public ResponseEntity<TransactionResponseDTO> getTransactionById(@PathVariable Integer id,
+            WebRequest webRequest) {
+        return ConditionalResponses.ok(webRequest, transactionService.getTransactionEtag(id),
+                () -> transactionService.getTransactionById(id));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<TransactionResponseDTO> updateTransaction(@PathVariable Integer id,
-            @Valid @RequestBody TransactionRequestDTO request) {
-        return ResponseEntity.ok(transactionService.updateTransaction(id, request));
+            @Valid @RequestBody TransactionRequestDTO request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return ConditionalResponses.ok(transactionService.updateTransaction(id, request, ifMatch));
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,13 @@
+package com.tenpo.api.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is an opaque value
+ * to send back to fetch the following page, or {@code null} when there are no
+ * more rows.
+ */
+public record CursorPageDTO<T>(
+        List<T> items,
+        String nextCursor) {
+}
@@ -0,0 +1,16 @@
+package com.tenpo.api.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Top merchants for one time bucket; {@code bucket} is the day, or the Monday
+ * that starts the week.
+ */
+@Builder
+public record MerchantBucketDTO(
+        LocalDate bucket,
+        List<MerchantVolumeDTO> merchants) {
+}
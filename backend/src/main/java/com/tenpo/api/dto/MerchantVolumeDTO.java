@@ -0,0 +1,10 @@
+package com.tenpo.api.dto;
+
+import lombok.Builder;
+
+@Builder
+public record MerchantVolumeDTO(
+        String merchant,
+        Long transactionCount,
+        Long totalAmount) {
+}
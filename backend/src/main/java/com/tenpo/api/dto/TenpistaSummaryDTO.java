@@ -0,0 +1,15 @@
+package com.tenpo.api.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Builder
+public record TenpistaSummaryDTO(
+        Integer tenpistaId,
+        String tenpistaName,
+        Integer transactionCount,
+        Long totalAmount,
+        LocalDateTime firstTransactionDate,
+        LocalDateTime lastTransactionDate) {
+}
@@ -0,0 +1,10 @@
+package com.tenpo.api.dto;
+
+import lombok.Builder;
+
+@Builder
+public record TransactionBatchItemResultDTO(
+        int index,
+        TransactionResponseDTO transaction,
+        String error) {
+}
@@ -0,0 +1,12 @@
+package com.tenpo.api.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record TransactionBatchResponseDTO(
+        int created,
+        int failed,
+        List<TransactionBatchItemResultDTO> results) {
+}
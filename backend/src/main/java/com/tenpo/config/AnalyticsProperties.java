@@ -0,0 +1,18 @@
+package com.tenpo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Merchant rollup refresh: every {@code refreshInterval} the job folds up to
+ * {@code batchSize} pending deltas into the rollup table, repeating until the
+ * backlog is drained. Queries may span at most {@code maxRangeDays} days.
+ */
+@ConfigurationProperties(prefix = "tenpo.analytics")
+public record AnalyticsProperties(
+        @DefaultValue("30s") Duration refreshInterval,
+        @DefaultValue("5000") int batchSize,
+        @DefaultValue("366") int maxRangeDays) {
+}
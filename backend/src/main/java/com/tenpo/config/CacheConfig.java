@@ -0,0 +1,33 @@
+package com.tenpo.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String TENPISTAS = "tenpistas";
+    public static final String TENPISTA_NAMES = "tenpista-names";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties) {
+        // Fixed cache names so the actuator binds cache.gets / cache.evictions metrics at startup
+        CaffeineCacheManager caffeine = new CaffeineCacheManager(TENPISTAS, TENPISTA_NAMES);
+        caffeine.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats());
+        caffeine.setAllowNullValues(false);
+        // Defer puts and evictions to after commit so a rolled-back update never evicts,
+        // and a reader cannot repopulate the cache with the pre-commit row
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -0,0 +1,18 @@
+package com.tenpo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Bounds for the tenpista read-through caches: each cache holds at most
+ * {@code maximumSize} entries, and an entry expires {@code ttl} after it was
+ * loaded. Writes through {@code TenpistaService} evict eagerly, so the TTL
+ * only bounds staleness from changes made outside this service.
+ */
+@ConfigurationProperties(prefix = "tenpo.cache")
+public record CacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("10m") Duration ttl) {
+}
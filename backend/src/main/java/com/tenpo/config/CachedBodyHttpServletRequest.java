@@ -4,20 +4,30 @@ import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
-import org.springframework.util.StreamUtils;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
 
+/**
+ * Buffers the request body once so it can be read by the rate limiter's key
+ * resolver and again by the message converter. The body is already bounded by
+ * {@link RequestSizeLimitFilter}, so an oversized one fails while being read
+ * here instead of being buffered.
+ */
 public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
 
-    private byte[] cachedBody;
+    private final byte[] cachedBody;
 
     public CachedBodyHttpServletRequest(HttpServletRequest request) throws IOException {
         super(request);
-        this.cachedBody = StreamUtils.copyToByteArray(request.getInputStream());
+        this.cachedBody = readBody(request);
     }
 
     @Override
@@ -27,20 +37,34 @@ public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
 
     @Override
     public BufferedReader getReader() {
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(this.cachedBody);
-        return new BufferedReader(new InputStreamReader(byteArrayInputStream));
+        String encoding = getCharacterEncoding();
+        Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
     }
 
+    private static byte[] readBody(HttpServletRequest request) throws IOException {
+        int contentLength = request.getContentLength();
+        InputStream in = request.getInputStream();
+        // Declared length: one exactly sized array, no intermediate buffer
+        return contentLength >= 0 ? in.readNBytes(contentLength) : in.readAllBytes();
+    }
+
+    /**
+     * Unsynchronized in-memory stream with bulk reads, so Jackson copies the
+     * body in chunks instead of one virtual call per byte.
+     */
     private static class CachedBodyServletInputStream extends ServletInputStream {
-        private final ByteArrayInputStream inputStream;
 
-        public CachedBodyServletInputStream(byte[] cachedBody) {
-            this.inputStream = new ByteArrayInputStream(cachedBody);
+        private final byte[] body;
+        private int position;
+
+        CachedBodyServletInputStream(byte[] body) {
+            this.body = body;
         }
 
         @Override
         public boolean isFinished() {
-            return inputStream.available() == 0;
+            return position == body.length;
         }
 
         @Override
@@ -48,14 +72,64 @@ public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
             return true;
         }
 
+        // Everything is already in memory: report it all available, then done
         @Override
         public void setReadListener(ReadListener readListener) {
-            throw new UnsupportedOperationException();
+            try {
+                if (!isFinished()) {
+                    readListener.onDataAvailable();
+                }
+                readListener.onAllDataRead();
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+
+        @Override
+        public int read() {
+            return position < body.length ? body[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            if (position == body.length) {
+                return -1;
+            }
+            int n = Math.min(len, body.length - position);
+            System.arraycopy(body, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public byte[] readAllBytes() {
+            byte[] rest = Arrays.copyOfRange(body, position, body.length);
+            position = body.length;
+            return rest;
+        }
+
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            int n = body.length - position;
+            out.write(body, position, n);
+            position = body.length;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, body.length - position));
+            position += skipped;
+            return skipped;
         }
 
         @Override
-        public int read() throws IOException {
-            return inputStream.read();
+        public int available() {
+            return body.length - position;
         }
     }
 }
@@ -1,9 +1,13 @@
 package com.tenpo.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -13,13 +17,41 @@ import java.io.IOException;
 @Component
 public class ContentCachingFilter extends OncePerRequestFilter {
 
+    private static final String RATE_LIMITED_PATH = "/transactions";
+
+    private final MeterRegistry registry;
+    private final Timer bodyCacheTimer;
+
+    public ContentCachingFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.bodyCacheTimer = Timer.builder("tenpo.web.filter")
+                .description("Time spent in a filter before passing the request on")
+                .tag("filter", getClass().getSimpleName())
+                .register(registry);
+    }
+
+    // Only rate-limited transaction POSTs need their body read twice
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !("POST".equalsIgnoreCase(request.getMethod()) && path.equals(RATE_LIMITED_PATH));
+    }
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain)
             throws ServletException, IOException {
 
-        CachedBodyHttpServletRequest cachedBodyHttpServletRequest = new CachedBodyHttpServletRequest(request);
+        // The registry's clock, so a mock clock in tests drives this sample too
+        Timer.Sample sample = Timer.start(registry);
+        CachedBodyHttpServletRequest cachedBodyHttpServletRequest;
+        try {
+            // Bounded by RequestSizeLimitFilter: an oversized body fails here with 413 instead of skipping the rate limiter
+            cachedBodyHttpServletRequest = new CachedBodyHttpServletRequest(request);
+        } finally {
+            sample.stop(bodyCacheTimer);
+        }
         filterChain.doFilter(cachedBodyHttpServletRequest, response);
     }
 }
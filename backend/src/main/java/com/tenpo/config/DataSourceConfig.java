@@ -0,0 +1,133 @@
+package com.tenpo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties({ DbGateProperties.class, PoolCheckProperties.class, ReplicaProperties.class })
+public class DataSourceConfig {
+
+    // Hikari's own default; the pool reports -1 until it has started when the size is not configured
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final String REPLICA_POOL_NAME = "tenpo-replica";
+
+    // Static so it is registered before the DataSource is created; properties are resolved lazily
+    @Bean
+    static BeanPostProcessor dataSourcePostProcessor(ObjectProvider<DbGateProperties> gateProperties,
+            ObjectProvider<SqlTraceProperties> sqlTraceProperties,
+            ObjectProvider<ReplicaProperties> replicaProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                SqlTraceProperties trace = sqlTraceProperties.getIfAvailable();
+                DbGateProperties gate = gateProperties.getObject();
+                DataSource primary = wrap(hikari, trace, gate);
+
+                ReplicaProperties replica = replicaProperties.getIfAvailable();
+                if (replica == null || !replica.enabled()) {
+                    return primary;
+                }
+                // Each pool keeps its own tracing and gate; routing picks between the two finished chains
+                HikariDataSource replicaPool = replicaPool(hikari, replica);
+                ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replicaPool, replica.lagQuery(),
+                        replica.maxLag(), replica.lagCheckInterval(), Clock.systemUTC());
+                lagMonitor.start();
+                return new ReplicaRoutingDataSource(primary, wrap(replicaPool, trace, gate), lagMonitor,
+                        replicaPool);
+            }
+        };
+    }
+
+    private static DataSource wrap(HikariDataSource hikari, SqlTraceProperties trace, DbGateProperties gate) {
+        // Tracing sits inside the gate so statement timings never include the wait for a permit
+        DataSource dataSource = trace != null && trace.enabled() ? new SqlTracingDataSource(hikari) : hikari;
+        if (!gate.enabled()) {
+            return dataSource;
+        }
+        // Sized to the pool: a thread holding a permit never waits inside Hikari for a connection
+        int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+        int permits = gate.permits() > 0 ? gate.permits() : poolSize;
+        return new ConcurrencyLimitedDataSource(dataSource, permits, gate.acquireTimeout());
+    }
+
+    // Same tuning and driver properties as the primary; the pool starts on the lag monitor's first check
+    private static HikariDataSource replicaPool(HikariDataSource primary, ReplicaProperties replica) {
+        if (replica.url() == null) {
+            throw new IllegalStateException("tenpo.replica.url is required when tenpo.replica.enabled is true");
+        }
+        HikariDataSource pool = new HikariDataSource();
+        primary.copyStateTo(pool);
+        pool.setPoolName(REPLICA_POOL_NAME);
+        pool.setJdbcUrl(replica.url());
+        if (replica.username() != null) {
+            pool.setUsername(replica.username());
+            pool.setPassword(replica.password());
+        }
+        if (replica.poolSize() > 0) {
+            pool.setMaximumPoolSize(replica.poolSize());
+            pool.setMinimumIdle(replica.poolSize());
+        }
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    @Bean
+    MeterBinder dbGateMetrics(DataSource dataSource) {
+        return registry -> {
+            DataSource[] pools = dataSource instanceof ReplicaRoutingDataSource routing
+                    ? new DataSource[] { routing.getPrimary(), routing.getReplica() }
+                    : new DataSource[] { dataSource };
+            for (DataSource pool : pools) {
+                ConcurrencyLimitedDataSource gate = unwrap(pool, ConcurrencyLimitedDataSource.class);
+                HikariDataSource hikari = unwrap(pool, HikariDataSource.class);
+                if (gate == null) {
+                    continue;
+                }
+                String name = hikari != null ? hikari.getPoolName() : "default";
+                Gauge.builder("tenpo.db.gate.permits", gate, ConcurrencyLimitedDataSource::getMaxPermits)
+                        .description("Connections the gate lets out at once")
+                        .tag("pool", name)
+                        .register(registry);
+                Gauge.builder("tenpo.db.gate.available", gate, ConcurrencyLimitedDataSource::getAvailablePermits)
+                        .description("Permits not currently held")
+                        .tag("pool", name)
+                        .register(registry);
+                Gauge.builder("tenpo.db.gate.waiting", gate, ConcurrencyLimitedDataSource::getWaitingThreads)
+                        .description("Threads parked waiting for a permit")
+                        .tag("pool", name)
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tenpo.pool-check", name = "enabled", matchIfMissing = true)
+    DataSourcePoolCheck dataSourcePoolCheck(DataSource dataSource, Environment environment,
+            PoolCheckProperties properties) {
+        return new DataSourcePoolCheck(dataSource, environment, properties.failOnMismatch());
+    }
+
+    static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
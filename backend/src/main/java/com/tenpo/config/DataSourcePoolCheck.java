@@ -0,0 +1,82 @@
+package com.tenpo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the Hikari pool size with the request concurrency once the context
+ * is up, before the connectors accept traffic. With virtual threads Tomcat has
+ * no thread limit, so only {@code tenpo.db-gate} keeps requests out of Hikari's
+ * queue; with platform threads {@code server.tomcat.threads.max} is the bound.
+ */
+@Slf4j
+public class DataSourcePoolCheck implements SmartInitializingSingleton {
+
+    // Tomcat's own default for server.tomcat.threads.max
+    private static final int DEFAULT_TOMCAT_THREADS = 200;
+
+    private final DataSource dataSource;
+    private final Environment environment;
+    private final boolean failOnMismatch;
+
+    public DataSourcePoolCheck(DataSource dataSource, Environment environment, boolean failOnMismatch) {
+        this.dataSource = dataSource;
+        this.environment = environment;
+        this.failOnMismatch = failOnMismatch;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        HikariDataSource hikari = DataSourceConfig.unwrap(dataSource, HikariDataSource.class);
+        if (hikari == null) {
+            return;
+        }
+        int poolSize = hikari.getMaximumPoolSize();
+        // With a replica the routing data source unwraps to the primary's chain
+        ConcurrencyLimitedDataSource gate = DataSourceConfig.unwrap(dataSource, ConcurrencyLimitedDataSource.class);
+        int gatePermits = gate != null ? gate.getMaxPermits() : 0;
+        boolean virtualThreads = Threading.VIRTUAL.isActive(environment);
+        int tomcatThreads = environment.getProperty("server.tomcat.threads.max", Integer.class,
+                DEFAULT_TOMCAT_THREADS);
+        log.info("Connection pool {}: {} connections, db-gate {}, {} request threads", hikari.getPoolName(),
+                poolSize, gatePermits > 0 ? gatePermits + " permits" : "off",
+                virtualThreads ? "virtual" : tomcatThreads + " platform");
+
+        List<String> problems = check(poolSize, gatePermits, virtualThreads, tomcatThreads);
+        if (problems.isEmpty()) {
+            return;
+        }
+        if (failOnMismatch) {
+            throw new IllegalStateException("Connection pool sizing: " + String.join("; ", problems));
+        }
+        problems.forEach(problem -> log.warn("Connection pool sizing: {}", problem));
+    }
+
+    /**
+     * @param gatePermits permits of the db-gate in front of the pool, 0 when it is off
+     */
+    static List<String> check(int poolSize, int gatePermits, boolean virtualThreads, int tomcatThreads) {
+        List<String> problems = new ArrayList<>();
+        if (gatePermits > poolSize) {
+            problems.add(String.format("tenpo.db-gate.permits (%d) exceeds the pool size (%d), so threads holding "
+                    + "a permit still queue inside Hikari", gatePermits, poolSize));
+        }
+        if (gatePermits == 0 && virtualThreads) {
+            problems.add(String.format("virtual threads are enabled and tenpo.db-gate is off, so every in-flight "
+                    + "request can queue for the %d connections until Hikari's connection timeout", poolSize));
+        }
+        if (gatePermits == 0 && !virtualThreads && tomcatThreads > poolSize) {
+            problems.add(String.format("server.tomcat.threads.max (%d) exceeds the pool size (%d) and "
+                    + "tenpo.db-gate is off, so up to %d request threads can queue inside Hikari",
+                    tomcatThreads, poolSize, tomcatThreads - poolSize));
+        }
+        return problems;
+    }
+}
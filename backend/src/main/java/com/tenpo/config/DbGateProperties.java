@@ -0,0 +1,19 @@
+package com.tenpo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Concurrency gate in front of the connection pool: at most {@code permits}
+ * threads hold a connection at once (0 means the Hikari maximum pool size), and
+ * a thread that cannot get a permit within {@code acquireTimeout} fails with a
+ * 503 instead of queueing inside the pool.
+ */
+@ConfigurationProperties(prefix = "tenpo.db-gate")
+public record DbGateProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0") int permits,
+        @DefaultValue("5s") Duration acquireTimeout) {
+}
@@ -0,0 +1,30 @@
+package com.tenpo.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Adds a {@code handler} tag ({@code TransactionController.createTransaction})
+ * to {@code http.server.requests}, so latency can be broken down per
+ * controller method rather than per URI template and HTTP method only.
+ */
+public class HandlerTaggingObservationConvention extends DefaultServerRequestObservationConvention {
+
+    private static final String NONE = "none";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return super.getLowCardinalityKeyValues(context).and(KeyValue.of("handler", handlerName(handler)));
+    }
+
+    public static String handlerName(Object handler) {
+        return handler instanceof HandlerMethod method
+                ? method.getBeanType().getSimpleName() + "." + method.getMethod().getName()
+                : NONE;
+    }
+}
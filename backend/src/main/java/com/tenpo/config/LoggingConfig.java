@@ -0,0 +1,51 @@
+package com.tenpo.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Iterator;
+
+@Configuration
+public class LoggingConfig {
+
+    // Only the prod-logging profile (logback-prod.xml) attaches a MeteredAsyncAppender; otherwise this binds nothing
+    @Bean
+    MeterBinder asyncLoggingMetrics() {
+        return registry -> {
+            if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+                return;
+            }
+            Iterator<Appender<ILoggingEvent>> appenders = context.getLogger(Logger.ROOT_LOGGER_NAME)
+                    .iteratorForAppenders();
+            while (appenders.hasNext()) {
+                if (!(appenders.next() instanceof MeteredAsyncAppender appender)) {
+                    continue;
+                }
+                Gauge.builder("tenpo.logging.queue.size", appender, MeteredAsyncAppender::getNumberOfElementsInQueue)
+                        .description("Log events waiting to be written")
+                        .tag("appender", appender.getName())
+                        .register(registry);
+                Gauge.builder("tenpo.logging.queue.capacity", appender, MeteredAsyncAppender::getQueueSize)
+                        .description("Log events the queue can hold")
+                        .tag("appender", appender.getName())
+                        .register(registry);
+                FunctionCounter.builder("tenpo.logging.dropped", appender, MeteredAsyncAppender::getDiscardedCount)
+                        .description("Log events dropped instead of written")
+                        .tags("appender", appender.getName(), "reason", "threshold")
+                        .register(registry);
+                FunctionCounter.builder("tenpo.logging.dropped", appender, MeteredAsyncAppender::getDroppedCount)
+                        .description("Log events dropped instead of written")
+                        .tags("appender", appender.getName(), "reason", "full")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.tenpo.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Logback {@link AsyncAppender} that counts the events it gives up on, so the
+ * drop policy shows up in metrics instead of as silently missing lines.
+ * Events at INFO and below are discarded once fewer than
+ * {@code discardingThreshold} slots remain; with {@code neverBlock} any event
+ * arriving at a full queue is dropped rather than stalling the caller.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    // Only consulted once the queue is below the discarding threshold
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            discarded.increment();
+        }
+        return discardable;
+    }
+
+    // Producers take turns, so nobody fills the queue between the capacity check and the base class's
+    // offer; the worker only ever frees slots. The check therefore decides every drop and the count is
+    // exact, using only the public capacity getters. A ReentrantLock, not synchronized, so a virtual
+    // thread waiting for it does not pin its carrier.
+    private final ReentrantLock offerLock = new ReentrantLock();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (!isNeverBlock()) {
+            super.append(event);
+            return;
+        }
+        // Copies MDC and caller data outside the lock; the base class's own call then finds them done
+        preprocess(event);
+        offerLock.lock();
+        try {
+            if (getRemainingCapacity() == 0) {
+                if (!(isQueueBelowDiscardingThreshold() && isDiscardable(event))) {
+                    dropped.increment();
+                }
+                return;
+            }
+            super.append(event);
+        } finally {
+            offerLock.unlock();
+        }
+    }
+
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,15 @@
+package com.tenpo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Startup check of the connection pool size against the number of threads
+ * that can ask it for a connection. Mismatches are logged as warnings, or fail
+ * the startup when {@code failOnMismatch} is set.
+ */
+@ConfigurationProperties(prefix = "tenpo.pool-check")
+public record PoolCheckProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("false") boolean failOnMismatch) {
+}
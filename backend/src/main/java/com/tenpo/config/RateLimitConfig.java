@@ -0,0 +1,30 @@
+package com.tenpo.config;
+
+import com.tenpo.interceptor.JdbcRateLimiter;
+import com.tenpo.interceptor.RateLimiter;
+import com.tenpo.interceptor.TokenBucketRateLimiter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Clock;
+
+/**
+ * One limiter shared by the POST interceptor and the batch endpoint, so a
+ * tenpista's batch items and single creates draw from the same bucket.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties,
+            ObjectProvider<NamedParameterJdbcTemplate> jdbcTemplate) {
+        return switch (properties.mode()) {
+            case LOCAL -> new TokenBucketRateLimiter(properties, Clock.systemUTC());
+            case JDBC -> new JdbcRateLimiter(jdbcTemplate.getObject(), properties, Clock.systemUTC());
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.tenpo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Token bucket settings: each key may burst up to {@code capacity} requests and
+ * regains one token every {@code refillInterval}. At most {@code maxKeys}
+ * buckets are tracked per JVM in local mode, or in the near-cache in jdbc mode.
+ * In jdbc mode, rows that have refilled completely are deleted every
+ * {@code sweepInterval}.
+ *
+ * <p>{@code mode} selects where buckets live: {@code local} keeps them in this
+ * JVM, {@code jdbc} shares them across replicas through the
+ * {@code rate_limit_buckets} table. In jdbc mode, a denial is remembered locally
+ * for {@code nearCacheTtl} so clients hammering an empty bucket do not cost a
+ * database round-trip each.
+ */
+@ConfigurationProperties(prefix = "tenpo.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("3") int capacity,
+        @DefaultValue("20s") Duration refillInterval,
+        @DefaultValue("100000") int maxKeys,
+        @DefaultValue("30s") Duration sweepInterval,
+        @DefaultValue("local") Mode mode,
+        @DefaultValue("1s") Duration nearCacheTtl) {
+
+    public enum Mode {
+        LOCAL, JDBC
+    }
+}
@@ -0,0 +1,27 @@
+package com.tenpo.config;
+
+/**
+ * Marks the current request as pinned to the primary, set by
+ * {@link ReadYourWritesFilter} for a client's writes and for its requests
+ * within the stickiness window after one. {@link ReplicaRoutingDataSource}
+ * sends a pinned request's read-only transactions to the primary too.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    public static void clear() {
+        PINNED.remove();
+    }
+}
@@ -0,0 +1,94 @@
+package com.tenpo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+
+/**
+ * Request-side half of replica routing; the routing data source itself is
+ * built by {@link DataSourceConfig} around the primary pool.
+ *
+ * <p>Routing is decided per transaction, when it first touches the database.
+ * Open-in-view would keep one EntityManager, and so one connection, across all
+ * of a request's transactions, so it must be off while the replica is enabled.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tenpo.replica", name = "enabled")
+public class ReplicaConfig {
+
+    ReplicaConfig(Environment environment) {
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            throw new IllegalStateException("tenpo.replica.enabled requires spring.jpa.open-in-view=false: "
+                    + "otherwise a request's first transaction picks the pool for all the others");
+        }
+    }
+
+    // Before the handlers run, so the pin covers every transaction of the request
+    @Bean
+    FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(properties.stickiness(), Clock.systemUTC()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        return registration;
+    }
+
+    // Spring destroys the raw HikariDataSource bean, never the routing wrapper the post-processor returned
+    @Bean
+    DisposableBean replicaShutdown(DataSource dataSource) {
+        return () -> {
+            if (dataSource instanceof ReplicaRoutingDataSource routing) {
+                routing.close();
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder replicaMetrics(DataSource dataSource) {
+        return registry -> {
+            if (!(dataSource instanceof ReplicaRoutingDataSource routing)) {
+                return;
+            }
+            // The replica pool is not a bean, so Boot's hikaricp binder does not see it
+            HikariDataSource pool = DataSourceConfig.unwrap(routing.getReplica(), HikariDataSource.class);
+            if (pool != null && pool.getMetricsTrackerFactory() == null && pool.getMetricRegistry() == null) {
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+            ReplicaLagMonitor lagMonitor = routing.getLagMonitor();
+            Gauge.builder("tenpo.db.replica.lag", lagMonitor, ReplicaLagMonitor::getLagSeconds)
+                    .description("Replication lag at the last check, NaN when the replica could not be checked")
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("tenpo.db.replica.usable", lagMonitor, monitor -> monitor.isUsable() ? 1 : 0)
+                    .description("1 while read-only transactions are sent to the replica")
+                    .register(registry);
+            FunctionCounter.builder("tenpo.db.reads", routing, ReplicaRoutingDataSource::getReplicaReads)
+                    .description("Read-only transactions by the pool that served them")
+                    .tags("pool", "replica", "reason", "none")
+                    .register(registry);
+            FunctionCounter.builder("tenpo.db.reads", routing, ReplicaRoutingDataSource::getPinnedReads)
+                    .description("Read-only transactions by the pool that served them")
+                    .tags("pool", "primary", "reason", "read-your-writes")
+                    .register(registry);
+            FunctionCounter.builder("tenpo.db.reads", routing, ReplicaRoutingDataSource::getLaggingReads)
+                    .description("Read-only transactions by the pool that served them")
+                    .tags("pool", "primary", "reason", "lag")
+                    .register(registry);
+            FunctionCounter.builder("tenpo.db.reads", routing, ReplicaRoutingDataSource::getFailedOverReads)
+                    .description("Read-only transactions by the pool that served them")
+                    .tags("pool", "primary", "reason", "error")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.tenpo.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the replica's replication lag on a background thread so routing
+ * decisions never wait on it. The replica counts as usable only while the
+ * last check succeeded within three intervals and reported at most
+ * {@code maxLag}; until the first check completes, reads stay on the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final Duration interval;
+    private final long staleAfterMillis;
+    private final Clock clock;
+    private ScheduledExecutorService scheduler;
+
+    private volatile double lagSeconds = Double.NaN;
+    private volatile long checkedAt = Long.MIN_VALUE;
+    private volatile boolean reachable;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, Duration interval, Clock clock) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLag.toMillis();
+        this.interval = interval;
+        this.staleAfterMillis = interval.toMillis() * 3;
+        this.clock = clock;
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void check() {
+        try (Connection connection = replica.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery(lagQuery)) {
+            lagSeconds = result.next() ? result.getDouble(1) : Double.NaN;
+            reachable = !Double.isNaN(lagSeconds);
+        } catch (SQLException | RuntimeException e) {
+            if (reachable) {
+                log.warn("Replica lag check failed, reading from the primary: {}", e.getMessage());
+            }
+            lagSeconds = Double.NaN;
+            reachable = false;
+        }
+        checkedAt = clock.millis();
+    }
+
+    public boolean isUsable() {
+        return reachable && lagSeconds * 1000 <= maxLagMillis && clock.millis() - checkedAt <= staleAfterMillis;
+    }
+
+    public boolean isReachable() {
+        return reachable;
+    }
+
+    /**
+     * Seconds the replica is behind as of the last check, NaN when it could
+     * not be checked.
+     */
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.tenpo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Read replica for {@code @Transactional(readOnly = true)} work. The replica
+ * pool copies the primary's Hikari settings; {@code username},
+ * {@code password} and {@code poolSize} default to the primary's. Reads fall
+ * back to the primary while the replica is more than {@code maxLag} behind
+ * (as reported by {@code lagQuery}, in seconds, every {@code lagCheckInterval})
+ * or cannot be reached, and for {@code stickiness} after a client's write.
+ */
+@ConfigurationProperties(prefix = "tenpo.replica")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        String url,
+        String username,
+        String password,
+        @DefaultValue("0") int poolSize,
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("1s") Duration lagCheckInterval,
+        @DefaultValue("5s") Duration stickiness,
+        @DefaultValue(ReplicaProperties.POSTGRES_LAG_QUERY) String lagQuery) {
+
+    // Zero when the replica has replayed everything it received, so an idle primary does not read as lag
+    public static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+}
@@ -0,0 +1,116 @@
+package com.tenpo.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the
+ * primary.
+ *
+ * <p>The physical connection is fetched lazily, on the first statement, so by
+ * then the transaction manager has already called
+ * {@code setReadOnly(true)} for a {@code @Transactional(readOnly = true)}
+ * method and the choice can be made per transaction. A read-only transaction
+ * still goes to the primary when the request is pinned by
+ * {@link ReadYourWrites}, when the {@link ReplicaLagMonitor} reports the
+ * replica as behind or unreachable, or when the replica fails to hand out a
+ * connection.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final AutoCloseable replicaPool;
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder pinnedReads = new LongAdder();
+    private final LongAdder laggingReads = new LongAdder();
+    private final LongAdder failedOverReads = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+            AutoCloseable replicaPool) {
+        super(primary);
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.replicaPool = replicaPool;
+        setReadOnlyDataSource(new ReadOnlyRoute());
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    public ReplicaLagMonitor getLagMonitor() {
+        return lagMonitor;
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    public long getPinnedReads() {
+        return pinnedReads.sum();
+    }
+
+    public long getLaggingReads() {
+        return laggingReads.sum();
+    }
+
+    public long getFailedOverReads() {
+        return failedOverReads.sum();
+    }
+
+    @Override
+    public void close() throws Exception {
+        lagMonitor.close();
+        replicaPool.close();
+    }
+
+    private class ReadOnlyRoute extends DelegatingDataSource {
+
+        ReadOnlyRoute() {
+            super(replica);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (ReadYourWrites.isPinned()) {
+                pinnedReads.increment();
+                return primary.getConnection();
+            }
+            if (!lagMonitor.isUsable()) {
+                laggingReads.increment();
+                return primary.getConnection();
+            }
+            try {
+                Connection connection = replica.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                // The lag monitor will take the replica out on its next check; until then fail over per read
+                log.debug("Replica connection failed, reading from the primary", e);
+                failedOverReads.increment();
+                return primary.getConnection();
+            }
+        }
+
+        // Explicit credentials belong to the primary's users; only the pool's own login is routed
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return primary.getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.tenpo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Map;
+
+/**
+ * Request body size limits. {@code routes} maps path patterns to their own
+ * limit, the most specific matching pattern wins; any other path is limited to
+ * {@code maxSize}. Bodies over the limit are rejected with 413.
+ */
+@ConfigurationProperties(prefix = "tenpo.request-body")
+public record RequestBodyProperties(
+        @DefaultValue("64KB") DataSize maxSize,
+        @DefaultValue Map<String, DataSize> routes) {
+}
@@ -0,0 +1,29 @@
+package com.tenpo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Latency by layer: {@code http.server.requests} per controller method,
+ * {@code tenpo.web.filter} and {@code tenpo.web.interceptor} for the body cache
+ * and the rate limiter, {@code tenpo.service.invocations} per service method and
+ * Spring Data's {@code spring.data.repository.invocations} per repository
+ * method. Histograms and SLO buckets are set under
+ * {@code management.metrics.distribution}.
+ */
+@Configuration
+public class RequestMetricsConfig {
+
+    @Bean
+    HandlerTaggingObservationConvention handlerTaggingObservationConvention() {
+        return new HandlerTaggingObservationConvention();
+    }
+
+    // Static so it is registered before the services it proxies are created
+    @Bean
+    static ServiceTimingPostProcessor serviceTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ServiceTimingPostProcessor(meterRegistry);
+    }
+}
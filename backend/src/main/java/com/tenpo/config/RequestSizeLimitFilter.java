@@ -0,0 +1,78 @@
+package com.tenpo.config;
+
+import com.tenpo.exception.PayloadTooLargeException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enforces {@link RequestBodyProperties} before anything reads the body: a
+ * declared Content-Length over the limit is rejected without reading, anything
+ * else is counted while it streams. Runs ahead of {@link ContentCachingFilter}
+ * and the form content filter so neither can buffer an oversized body.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestSizeLimitFilter extends OncePerRequestFilter {
+
+    private final long defaultMaxBytes;
+    private final List<Map.Entry<PathPattern, Long>> routes;
+    private final HandlerExceptionResolver handlerExceptionResolver;
+
+    public RequestSizeLimitFilter(RequestBodyProperties properties,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver) {
+        this.defaultMaxBytes = properties.maxSize().toBytes();
+        this.routes = properties.routes().entrySet().stream()
+                .map(e -> Map.entry(PathPatternParser.defaultInstance.parse(e.getKey()), e.getValue().toBytes()))
+                .sorted(Map.Entry.comparingByKey(PathPattern.SPECIFICITY_COMPARATOR))
+                .toList();
+        this.handlerExceptionResolver = handlerExceptionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long maxBytes = maxBytesFor(request);
+        try {
+            if (request.getContentLengthLong() > maxBytes) {
+                throw new PayloadTooLargeException(maxBytes);
+            }
+            filterChain.doFilter(new SizeLimitedHttpServletRequest(request, maxBytes), response);
+        } catch (PayloadTooLargeException e) {
+            // Thrown outside the DispatcherServlet (here or in a later filter): answer with the same ProblemDetail
+            if (response.isCommitted()
+                    || handlerExceptionResolver.resolveException(request, response, null, e) == null) {
+                throw e;
+            }
+        }
+    }
+
+    private long maxBytesFor(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        return routes.stream()
+                .filter(route -> route.getKey().matches(path))
+                .findFirst()
+                .map(Map.Entry::getValue)
+                .orElse(defaultMaxBytes);
+    }
+}
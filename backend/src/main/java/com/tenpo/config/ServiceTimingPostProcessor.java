@@ -0,0 +1,72 @@
+package com.tenpo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+/**
+ * Times every public method of {@code @Service} beans as
+ * {@code tenpo.service.invocations}, tagged with class, method and exception.
+ * The advice runs outside the transaction and cache advice, so commit time and
+ * cache hits are part of the measurement.
+ */
+public class ServiceTimingPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public ServiceTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Service.class, true),
+                new TimingInterceptor(meterRegistry));
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+
+    private static class TimingInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private volatile MeterRegistry registry;
+
+        TimingInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            MeterRegistry registry = registry();
+            Timer.Sample sample = Timer.start(registry);
+            String exception = "none";
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                exception = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                Class<?> target = invocation.getThis() != null
+                        ? AopProxyUtils.ultimateTargetClass(invocation.getThis())
+                        : invocation.getMethod().getDeclaringClass();
+                sample.stop(Timer.builder("tenpo.service.invocations")
+                        .description("Service method execution time")
+                        .tag("class", target.getSimpleName())
+                        .tag("method", invocation.getMethod().getName())
+                        .tag("exception", exception)
+                        .register(registry));
+            }
+        }
+
+        // Resolved on first use: the post-processor is created before the registry exists
+        private MeterRegistry registry() {
+            MeterRegistry resolved = registry;
+            if (resolved == null) {
+                resolved = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+                registry = resolved;
+            }
+            return resolved;
+        }
+    }
+}
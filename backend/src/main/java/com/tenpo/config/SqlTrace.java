@@ -0,0 +1,56 @@
+package com.tenpo.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statements executed by the current request, collected on the request thread
+ * by {@link SqlTracingDataSource} and handed to {@link SqlTraceRecorder} once
+ * the request completes. Only the SQL reference and the elapsed time are kept
+ * on the hot path; parsing and formatting happen when the trace is published.
+ */
+public final class SqlTrace {
+
+    private static final ThreadLocal<SqlTrace> CURRENT = new ThreadLocal<>();
+
+    private final boolean fullLogging;
+    private final List<Execution> executions = new ArrayList<>();
+
+    private SqlTrace(boolean fullLogging) {
+        this.fullLogging = fullLogging;
+    }
+
+    public static SqlTrace begin(boolean fullLogging) {
+        SqlTrace trace = new SqlTrace(fullLogging);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    public static SqlTrace current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public boolean isFullLogging() {
+        return fullLogging;
+    }
+
+    public List<Execution> getExecutions() {
+        return executions;
+    }
+
+    void add(Execution execution) {
+        executions.add(execution);
+    }
+
+    /**
+     * One execute call; {@code params} are the bind values by index, captured only
+     * with full logging.
+     */
+    public record Execution(String sql, long nanos, int batchSize, Map<Integer, Object> params) {
+    }
+}
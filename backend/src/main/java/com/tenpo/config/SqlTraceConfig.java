@@ -0,0 +1,30 @@
+package com.tenpo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(SqlTraceProperties.class)
+@ConditionalOnProperty(prefix = "tenpo.sql-trace", name = "enabled", matchIfMissing = true)
+public class SqlTraceConfig {
+
+    @Bean
+    SqlTraceRecorder sqlTraceRecorder(MeterRegistry registry, SqlTraceProperties properties) {
+        return new SqlTraceRecorder(registry, properties.queueCapacity());
+    }
+
+    // Right after the body size limit, so the trace covers every later filter's queries too
+    @Bean
+    FilterRegistrationBean<SqlTracingFilter> sqlTracingFilter(SqlTraceProperties properties,
+            SqlTraceRecorder recorder) {
+        FilterRegistrationBean<SqlTracingFilter> registration = new FilterRegistrationBean<>(
+                new SqlTracingFilter(properties, recorder));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,20 @@
+package com.tenpo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Sampled SQL tracing: a {@code sampleRate} fraction of requests record the
+ * timing of every statement they run, published per endpoint off the request
+ * thread. With {@code headerEnabled}, a request sending
+ * {@code X-Sql-Trace: true} is always traced and also logs each statement with
+ * its bind parameters. At most {@code queueCapacity} traced requests wait to be
+ * published; beyond that they are dropped and counted.
+ */
+@ConfigurationProperties(prefix = "tenpo.sql-trace")
+public record SqlTraceProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0.01") double sampleRate,
+        @DefaultValue("false") boolean headerEnabled,
+        @DefaultValue("1000") int queueCapacity) {
+}
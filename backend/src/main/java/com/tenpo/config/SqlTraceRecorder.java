@@ -0,0 +1,110 @@
+package com.tenpo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes finished {@link SqlTrace}s on a single background thread: one
+ * {@code tenpo.sql.statement} timer sample per statement and one
+ * {@code tenpo.sql.statements} count per request, both tagged with the
+ * endpoint, plus a log line per statement for fully logged requests. When the
+ * queue is full the trace is dropped and counted rather than making the
+ * request wait.
+ */
+@Slf4j
+public class SqlTraceRecorder implements DisposableBean {
+
+    private final MeterRegistry registry;
+    private final Executor executor;
+    private final Counter dropped;
+
+    public SqlTraceRecorder(MeterRegistry registry, int queueCapacity) {
+        this(registry, new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "sql-trace");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy()));
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+        Gauge.builder("tenpo.sql.trace.queue", pool, p -> p.getQueue().size())
+                .description("Traced requests waiting to be published")
+                .register(registry);
+    }
+
+    SqlTraceRecorder(MeterRegistry registry, Executor executor) {
+        this.registry = registry;
+        this.executor = executor;
+        this.dropped = Counter.builder("tenpo.sql.trace.dropped")
+                .description("Traced requests dropped because the publish queue was full")
+                .register(registry);
+    }
+
+    public void publish(String endpoint, SqlTrace trace) {
+        try {
+            executor.execute(() -> record(endpoint, trace));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    private void record(String endpoint, SqlTrace trace) {
+        int statements = 0;
+        for (SqlTrace.Execution execution : trace.getExecutions()) {
+            statements += Math.max(execution.batchSize(), 1);
+            Timer.builder("tenpo.sql.statement")
+                    .description("Statement execution time in sampled requests")
+                    .tag("endpoint", endpoint)
+                    .tag("operation", operation(execution.sql()))
+                    .register(registry)
+                    .record(execution.nanos(), TimeUnit.NANOSECONDS);
+            if (trace.isFullLogging()) {
+                log.info("{} {} {}ms batch={} params={}", endpoint, execution.sql(),
+                        TimeUnit.NANOSECONDS.toMicros(execution.nanos()) / 1000.0, execution.batchSize(),
+                        execution.params());
+            }
+        }
+        DistributionSummary.builder("tenpo.sql.statements")
+                .description("Statements executed per sampled request")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(statements);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdown();
+        }
+    }
+
+    static String operation(String sql) {
+        if (sql == null) {
+            return "other";
+        }
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return switch (trimmed.substring(0, end).toLowerCase(Locale.ROOT)) {
+            case "select", "with" -> "select";
+            case "insert" -> "insert";
+            case "update" -> "update";
+            case "delete" -> "delete";
+            default -> "other";
+        };
+    }
+}
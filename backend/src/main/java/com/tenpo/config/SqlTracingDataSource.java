@@ -0,0 +1,103 @@
+package com.tenpo.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Times statement executions for requests that carry a {@link SqlTrace}.
+ *
+ * <p>Whether to trace is decided when a statement is created: for an untraced
+ * request the driver's statement is returned as is, so the cost outside the
+ * sample is one proxy hop per connection call and a thread-local lookup per
+ * statement.
+ */
+public class SqlTracingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement",
+            "prepareCall");
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    public SqlTracingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return tracing(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return tracing(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection tracing(Connection target) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> {
+                        Object result = invoke(target, method, args);
+                        SqlTrace trace = SqlTrace.current();
+                        if (trace != null && result instanceof Statement statement
+                                && STATEMENT_FACTORIES.contains(method.getName())) {
+                            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                            yield traced(statement, method.getReturnType(), sql, trace);
+                        }
+                        yield result;
+                    }
+                });
+    }
+
+    private Statement traced(Statement target, Class<?> type, String preparedSql, SqlTrace trace) {
+        Map<Integer, Object> params = trace.isFullLogging() ? new TreeMap<>() : null;
+        int[] batchSize = new int[1];
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (EXECUTE_METHODS.contains(name)) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                        long start = System.nanoTime();
+                        try {
+                            return invoke(target, method, args);
+                        } finally {
+                            trace.add(new SqlTrace.Execution(sql, System.nanoTime() - start, batchSize[0],
+                                    params != null ? new TreeMap<>(params) : null));
+                            batchSize[0] = 0;
+                        }
+                    }
+                    if ("addBatch".equals(name)) {
+                        batchSize[0]++;
+                    } else if (params != null && name.startsWith("set") && args != null && args.length >= 2
+                            && args[0] instanceof Integer index) {
+                        params.put(index, "setNull".equals(name) ? null : args[1]);
+                    } else if (params != null && "clearParameters".equals(name)) {
+                        params.clear();
+                    }
+                    return switch (name) {
+                        case "equals" -> proxy == args[0];
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        default -> invoke(target, method, args);
+                    };
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
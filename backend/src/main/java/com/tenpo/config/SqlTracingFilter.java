@@ -0,0 +1,54 @@
+package com.tenpo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Starts a {@link SqlTrace} for sampled requests and for requests that opt in
+ * with {@value #HEADER}, and hands it to the {@link SqlTraceRecorder} tagged
+ * with the matched route once the response is done.
+ */
+@RequiredArgsConstructor
+public class SqlTracingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Sql-Trace";
+
+    private final SqlTraceProperties properties;
+    private final SqlTraceRecorder recorder;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        boolean fullLogging = properties.headerEnabled() && "true".equalsIgnoreCase(request.getHeader(HEADER));
+        if (!fullLogging && ThreadLocalRandom.current().nextDouble() >= properties.sampleRate()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        SqlTrace trace = SqlTrace.begin(fullLogging);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlTrace.end();
+            recorder.publish(endpoint(request), trace);
+        }
+    }
+
+    // The route template, not the raw URI, so ids do not explode the tag cardinality
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNMATCHED");
+    }
+}
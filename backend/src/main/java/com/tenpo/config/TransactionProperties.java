@@ -0,0 +1,10 @@
+package com.tenpo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "tenpo.transaction")
+public record TransactionProperties(
+        int maxPerClient,
+        @DefaultValue("1000") int maxBatchSize) {
+}
@@ -1,10 +1,16 @@
 package com.tenpo.config;
 
 import com.tenpo.interceptor.RateLimitInterceptor;
+import com.tenpo.interceptor.TimedHandlerInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.lang.NonNull;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -14,15 +20,22 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 @RequiredArgsConstructor
+@EnableConfigurationProperties(RequestBodyProperties.class)
+@Import(RateLimitConfig.class)
 @SuppressWarnings("null")
 public class WebConfig implements WebMvcConfigurer {
 
     private final RateLimitInterceptor rateLimitInterceptor;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
 
     @Override
     public void addInterceptors(@NonNull InterceptorRegistry registry) {
-        registry.addInterceptor(rateLimitInterceptor)
-                .addPathPatterns("/transactions/**");
+        // Without a registry (MVC test slices) the global one records nothing
+        registry.addInterceptor(new TimedHandlerInterceptor(rateLimitInterceptor,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry)))
+                .addPathPatterns("/transactions/**")
+                // Batches carry many tenpistas; TransactionService charges each one's share by item count
+                .excludePathPatterns("/transactions/batch");
     }
 
     @Bean
@@ -33,6 +46,7 @@ public class WebConfig implements WebMvcConfigurer {
         config.addAllowedOriginPattern("*");
         config.addAllowedHeader("*");
         config.addAllowedMethod("*");
+        config.addExposedHeader("ETag");
         source.registerCorsConfiguration("/**", config);
         return new CorsFilter(source);
     }
@@ -1,7 +1,10 @@
 package com.tenpo.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -43,6 +46,66 @@ public class GlobalExceptionHandler {
         return problemDetail;
     }
 
+    @ExceptionHandler(TransactionLimitExceededException.class)
+    public ProblemDetail handleTransactionLimitExceededException(TransactionLimitExceededException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage());
+        problemDetail.setTitle("Transaction Limit Exceeded");
+        problemDetail.setType(java.net.URI.create(ERRORS_URI_BASE + "transaction-limit-exceeded"));
+        return problemDetail;
+    }
+
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ProblemDetail handlePayloadTooLargeException(PayloadTooLargeException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.PAYLOAD_TOO_LARGE,
+                ex.getMessage());
+        problemDetail.setTitle("Payload Too Large");
+        problemDetail.setType(java.net.URI.create(ERRORS_URI_BASE + "payload-too-large"));
+        return problemDetail;
+    }
+
+    // Jackson wraps a limit hit mid-parse in a parse error; report it as 413 rather than 400
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ProblemDetail handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof PayloadTooLargeException payloadTooLarge) {
+                return handlePayloadTooLargeException(payloadTooLarge);
+            }
+        }
+        return handleRuntimeException(ex);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ProblemDetail handlePreconditionFailedException(PreconditionFailedException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.PRECONDITION_FAILED,
+                ex.getMessage());
+        problemDetail.setTitle("Precondition Failed");
+        problemDetail.setType(java.net.URI.create(ERRORS_URI_BASE + "precondition-failed"));
+        return problemDetail;
+    }
+
+    @ExceptionHandler(org.springframework.dao.OptimisticLockingFailureException.class)
+    public ProblemDetail handleOptimisticLockingFailureException(
+            org.springframework.dao.OptimisticLockingFailureException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT,
+                "The resource was modified concurrently; fetch it again and retry");
+        problemDetail.setTitle("Concurrent Modification");
+        problemDetail.setType(java.net.URI.create(ERRORS_URI_BASE + "concurrent-modification"));
+        return problemDetail;
+    }
+
+    // No connection within the DB gate or pool timeout: the service is saturated, not the request invalid
+    @ExceptionHandler({ org.springframework.transaction.CannotCreateTransactionException.class,
+            org.springframework.jdbc.CannotGetJdbcConnectionException.class })
+    public ResponseEntity<ProblemDetail> handleConnectionUnavailableException(RuntimeException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                "The service is busy; retry shortly");
+        problemDetail.setTitle("Service Unavailable");
+        problemDetail.setType(java.net.URI.create(ERRORS_URI_BASE + "service-unavailable"));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problemDetail);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ProblemDetail handleValidationException(MethodArgumentNotValidException ex) {
         String detail = ex.getBindingResult().getFieldErrors().stream()
@@ -0,0 +1,8 @@
+package com.tenpo.exception;
+
+// Unchecked so it is not mistaken for a broken connection by code that handles IOException
+public class PayloadTooLargeException extends RuntimeException {
+    public PayloadTooLargeException(long maxBytes) {
+        super(String.format("Request body exceeds the maximum of %d bytes.", maxBytes));
+    }
+}
@@ -0,0 +1,7 @@
+package com.tenpo.exception;
+
+public class TransactionLimitExceededException extends RuntimeException {
+    public TransactionLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.tenpo.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Keys requests by a header (e.g. one set by the gateway), so the body never
+ * has to be cached or parsed.
+ */
+public class HeaderKeyResolver implements RateLimitKeyResolver {
+
+    private final String headerName;
+
+    public HeaderKeyResolver(String headerName) {
+        this.headerName = headerName;
+    }
+
+    @Override
+    public String resolveKey(HttpServletRequest request) {
+        return request.getHeader(headerName);
+    }
+}
@@ -0,0 +1,116 @@
+package com.tenpo.interceptor;
+
+import com.tenpo.config.RateLimitProperties;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket limiter shared by every replica through the
+ * {@code rate_limit_buckets} table, with the same refill semantics as
+ * {@link TokenBucketRateLimiter}.
+ *
+ * <p>Taking a token is one {@code INSERT ... ON CONFLICT DO UPDATE}. It creates
+ * the bucket on first use, or refills and decrements it under the row lock, so
+ * concurrent first requests from several pods cannot race. Refill time comes
+ * from the database clock, so pods with skewed clocks still agree on a bucket.
+ *
+ * <p>Only denials are cached locally, for {@code nearCacheTtl}, to keep abusive
+ * clients off the database. Granted requests always go to the database,
+ * because caching an allowance would let every pod spend it independently.
+ */
+public class JdbcRateLimiter implements RateLimiter {
+
+    private static final String DB_NOW_MILLIS = "(EXTRACT(EPOCH FROM now()) * 1000)::BIGINT";
+
+    // EXCLUDED.refilled_at is the database time of this request
+    private static final String TAKE_TOKEN_SQL = """
+            INSERT INTO rate_limit_buckets AS b (bucket_key, tokens, refilled_at)
+            VALUES (:key, :capacity - :permits, %s)
+            ON CONFLICT (bucket_key) DO UPDATE
+            SET tokens = LEAST(:capacity, b.tokens + GREATEST(0, (EXCLUDED.refilled_at - b.refilled_at) / :interval)) - :permits,
+                refilled_at = CASE
+                    WHEN b.tokens + GREATEST(0, (EXCLUDED.refilled_at - b.refilled_at) / :interval) >= :capacity
+                        THEN EXCLUDED.refilled_at
+                    ELSE b.refilled_at + GREATEST(0, (EXCLUDED.refilled_at - b.refilled_at) / :interval) * :interval
+                END
+            WHERE LEAST(:capacity, b.tokens + GREATEST(0, (EXCLUDED.refilled_at - b.refilled_at) / :interval)) >= :permits
+            """.formatted(DB_NOW_MILLIS);
+
+    private static final String DELETE_FULL_BUCKETS_SQL = """
+            DELETE FROM rate_limit_buckets
+            WHERE refilled_at <= %s - :fullAfter
+            """.formatted(DB_NOW_MILLIS);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ConcurrentHashMap<String, Long> deniedUntil = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepAt;
+
+    private final int capacity;
+    private final long refillIntervalMillis;
+    private final int maxKeys;
+    private final long sweepIntervalMillis;
+    private final long nearCacheTtlMillis;
+    private final Clock clock;
+
+    public JdbcRateLimiter(NamedParameterJdbcTemplate jdbcTemplate, RateLimitProperties properties, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacity = properties.capacity();
+        this.refillIntervalMillis = Math.max(1, properties.refillInterval().toMillis());
+        this.maxKeys = properties.maxKeys();
+        this.sweepIntervalMillis = properties.sweepInterval().toMillis();
+        this.nearCacheTtlMillis = properties.nearCacheTtl().toMillis();
+        this.clock = clock;
+        this.nextSweepAt = new AtomicLong(clock.millis() + sweepIntervalMillis);
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int permits) {
+        if (permits > capacity) {
+            return false;
+        }
+        long now = clock.millis();
+        sweepIfDue(now);
+
+        Long cachedDenial = deniedUntil.get(key);
+        if (cachedDenial != null && cachedDenial > now) {
+            return false;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("key", key)
+                .addValue("capacity", capacity)
+                .addValue("permits", permits)
+                .addValue("interval", refillIntervalMillis);
+
+        // One row: inserted or refilled and decremented. None: the bucket is empty
+        if (jdbcTemplate.update(TAKE_TOKEN_SQL, params) == 1) {
+            return true;
+        }
+
+        // A multi-permit denial says nothing about a single request, which may still fit
+        if (permits == 1 && nearCacheTtlMillis > 0 && deniedUntil.size() < maxKeys) {
+            deniedUntil.put(key, now + nearCacheTtlMillis);
+        }
+        return false;
+    }
+
+    @Override
+    public long requestsPerMinute() {
+        return 60_000L / refillIntervalMillis;
+    }
+
+    private void sweepIfDue(long now) {
+        long due = nextSweepAt.get();
+        if (now < due || !nextSweepAt.compareAndSet(due, now + sweepIntervalMillis)) {
+            return;
+        }
+        deniedUntil.values().removeIf(until -> until <= now);
+        // Rows untouched for capacity * interval have refilled completely and carry no state
+        jdbcTemplate.update(DELETE_FULL_BUCKETS_SQL,
+                new MapSqlParameterSource("fullAfter", capacity * refillIntervalMillis));
+    }
+}
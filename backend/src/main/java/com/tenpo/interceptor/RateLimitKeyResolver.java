@@ -0,0 +1,14 @@
+package com.tenpo.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Resolves the key a request is rate limited under. Returning {@code null}
+ * means the request is not rate limited. Declare a bean of this type to
+ * replace the default {@link TenpistaIdBodyKeyResolver}.
+ */
+@FunctionalInterface
+public interface RateLimitKeyResolver {
+
+    String resolveKey(HttpServletRequest request);
+}
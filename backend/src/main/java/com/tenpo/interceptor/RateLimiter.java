@@ -0,0 +1,18 @@
+package com.tenpo.interceptor;
+
+/**
+ * Decides whether a request keyed by {@code key} may proceed. Implementations
+ * are selected with {@code tenpo.rate-limit.mode}.
+ */
+public interface RateLimiter {
+
+    default boolean tryAcquire(String key) {
+        return tryAcquire(key, 1);
+    }
+
+    /** Takes {@code permits} tokens at once, or none when fewer are left. */
+    boolean tryAcquire(String key, int permits);
+
+    /** Sustained rate, used for client-facing messages. */
+    long requestsPerMinute();
+}
@@ -0,0 +1,63 @@
+package com.tenpo.interceptor;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+
+/**
+ * Reads {@code tenpista_id} from the (cached) JSON body with a streaming parser
+ * instead of building a full tree. Nested values are skipped without being
+ * materialized; a repeated top-level key resolves to its last occurrence, as
+ * in the request binder. The value is coerced to an int the way the binder
+ * coerces it ({@code 1.0}, {@code "01"} and {@code " 1"} are all tenpista 1),
+ * and the key is its canonical decimal form, so every spelling of an id shares
+ * one bucket.
+ */
+public class TenpistaIdBodyKeyResolver implements RateLimitKeyResolver {
+
+    static final String TENPISTA_ID_FIELD = "tenpista_id";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Override
+    public String resolveKey(HttpServletRequest request) {
+        try (JsonParser parser = JSON_FACTORY.createParser(request.getInputStream())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            // Scan the whole top level: Jackson data binding keeps the last of repeated keys, so the
+            // limiter must charge the same tenpista the transaction is written to
+            String key = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (TENPISTA_ID_FIELD.equals(field)) {
+                    key = canonicalId(parser, value);
+                }
+                parser.skipChildren();
+            }
+            return key;
+        } catch (IOException e) {
+            // If body is not readable or not JSON, skip rate limiting
+            return null;
+        }
+    }
+
+    private static String canonicalId(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT || value == JsonToken.VALUE_NUMBER_FLOAT) {
+            // Truncates floats like the binder's ACCEPT_FLOAT_AS_INT; out-of-range values throw and bind to nothing
+            return Integer.toString(parser.getIntValue());
+        }
+        if (value == JsonToken.VALUE_STRING) {
+            try {
+                return Integer.toString(Integer.parseInt(parser.getText().trim()));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
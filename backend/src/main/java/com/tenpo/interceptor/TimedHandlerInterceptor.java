@@ -0,0 +1,54 @@
+package com.tenpo.interceptor;
+
+import com.tenpo.config.HandlerTaggingObservationConvention;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Times another interceptor's {@code preHandle} as {@code tenpo.web.interceptor},
+ * tagged with the interceptor, the handler it guards and whether the request
+ * was let through.
+ */
+@RequiredArgsConstructor
+public class TimedHandlerInterceptor implements HandlerInterceptor {
+
+    private final HandlerInterceptor delegate;
+    private final MeterRegistry registry;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler) throws Exception {
+        Timer.Sample sample = Timer.start(registry);
+        boolean proceed = false;
+        try {
+            proceed = delegate.preHandle(request, response, handler);
+            return proceed;
+        } finally {
+            sample.stop(Timer.builder("tenpo.web.interceptor")
+                    .description("Time spent in an interceptor before the handler")
+                    .tag("interceptor", delegate.getClass().getSimpleName())
+                    .tag("handler", HandlerTaggingObservationConvention.handlerName(handler))
+                    .tag("outcome", proceed ? "proceeded" : "stopped")
+                    .register(registry));
+        }
+    }
+
+    @Override
+    public void postHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler, @Nullable ModelAndView modelAndView) throws Exception {
+        delegate.postHandle(request, response, handler, modelAndView);
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler, @Nullable Exception ex) throws Exception {
+        delegate.afterCompletion(request, response, handler, ex);
+    }
+}
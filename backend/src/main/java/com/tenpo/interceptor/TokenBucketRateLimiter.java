@@ -0,0 +1,106 @@
+package com.tenpo.interceptor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tenpo.config.RateLimitProperties;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket limiter. Each bucket is a single {@link AtomicLong}
+ * packing the last refill time (upper 44 bits, millis since the limiter was
+ * created) and the available tokens (lower 20 bits), updated with CAS.
+ *
+ * <p>Memory is bounded by {@code maxKeys}. A bucket left alone for
+ * {@code capacity * refillInterval} has refilled completely and carries no
+ * information, so it expires. When the cache is full, Caffeine's frequency-based
+ * admission evicts rarely used buckets first, so a flood of made-up keys cannot
+ * push out the buckets of clients that are actually sending traffic. Every key
+ * keeps its own bucket; new keys are never throttled together.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+
+    private final Cache<String, AtomicLong> buckets;
+
+    private final int capacity;
+    private final long refillIntervalMillis;
+    private final Clock clock;
+    private final long epochMillis;
+
+    public TokenBucketRateLimiter(RateLimitProperties properties, Clock clock) {
+        if (properties.capacity() < 1 || properties.capacity() > TOKEN_MASK) {
+            throw new IllegalArgumentException("tenpo.rate-limit.capacity must be between 1 and " + TOKEN_MASK);
+        }
+        this.capacity = properties.capacity();
+        this.refillIntervalMillis = Math.max(1, properties.refillInterval().toMillis());
+        this.clock = clock;
+        this.epochMillis = clock.millis();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxKeys())
+                .expireAfterAccess(capacity * refillIntervalMillis, TimeUnit.MILLISECONDS)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                // Maintenance runs on the calling thread; it is amortized and avoids a pool hop per eviction
+                .executor(Runnable::run)
+                .build();
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int permits) {
+        if (permits > capacity) {
+            return false;
+        }
+        long now = clock.millis() - epochMillis;
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(pack(now, capacity)));
+
+        while (true) {
+            long state = bucket.get();
+            long refilled = refill(state, now);
+            if (tokens(refilled) < permits) {
+                return false;
+            }
+            if (bucket.compareAndSet(state, refilled - permits)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public long requestsPerMinute() {
+        return 60_000L / refillIntervalMillis;
+    }
+
+    long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private long refill(long state, long now) {
+        long tokens = tokens(state);
+        long last = state >>> TOKEN_BITS;
+        long elapsed = now - last;
+        if (tokens >= capacity) {
+            // Full buckets restart the refill clock at the time they are next drawn from
+            return pack(Math.max(now, last), capacity);
+        }
+        if (elapsed < refillIntervalMillis) {
+            return state;
+        }
+        long added = elapsed / refillIntervalMillis;
+        long newTokens = Math.min(capacity, tokens + added);
+        long newLast = newTokens == capacity ? now : last + added * refillIntervalMillis;
+        return pack(newLast, newTokens);
+    }
+
+    private static long tokens(long state) {
+        return state & TOKEN_MASK;
+    }
+
+    private static long pack(long timeMillis, long tokens) {
+        return (timeMillis << TOKEN_BITS) | tokens;
+    }
+}
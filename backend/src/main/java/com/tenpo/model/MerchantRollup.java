@@ -0,0 +1,43 @@
+package com.tenpo.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Transaction count and amount per (day, merchant). Maintained from
+ * {@link MerchantRollupDelta} rows by the rollup job, or rebuilt from scratch.
+ */
+@Entity
+@Table(name = "merchant_daily_rollups")
+@IdClass(MerchantRollup.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MerchantRollup {
+
+    @Id
+    @Column(name = "bucket_date")
+    private LocalDate bucketDate;
+
+    @Id
+    @Column(name = "merchant_or_business")
+    private String merchant;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+
+    @Column(name = "total_amount", nullable = false)
+    private Long totalAmount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate bucketDate;
+        private String merchant;
+    }
+}
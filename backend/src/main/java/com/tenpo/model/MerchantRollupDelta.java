@@ -0,0 +1,39 @@
+package com.tenpo.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * A pending change to one (day, merchant) rollup, written in the same
+ * transaction as the transaction row it describes and consumed by the rollup
+ * job.
+ */
+@Entity
+@Table(name = "merchant_rollup_deltas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MerchantRollupDelta {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "merchant_rollup_deltas_seq")
+    @SequenceGenerator(name = "merchant_rollup_deltas_seq", sequenceName = "merchant_rollup_deltas_id_seq",
+            allocationSize = 50)
+    @Column(name = "delta_id")
+    private Long id;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(name = "merchant_or_business", nullable = false)
+    private String merchant;
+
+    @Column(name = "count_delta", nullable = false)
+    private Integer countDelta;
+
+    @Column(name = "amount_delta", nullable = false)
+    private Long amountDelta;
+}
@@ -0,0 +1,28 @@
+package com.tenpo.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Modification counter per resource table. Writes bump it right after they
+ * commit, so ETags for list reads can be derived from this one tiny table
+ * instead of the rows themselves.
+ */
+@Entity
+@Table(name = "resource_versions")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceVersion {
+
+    public static final String TENPISTAS = "tenpistas";
+    public static final String TRANSACTIONS = "transactions";
+
+    @Id
+    @Column(name = "resource_name")
+    private String resource;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
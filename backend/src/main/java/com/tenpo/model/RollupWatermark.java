@@ -0,0 +1,32 @@
+package com.tenpo.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Progress of a rollup: the last delta folded in and when. The row is also
+ * the lock that keeps refreshes and rebuilds on different replicas from
+ * applying the same deltas twice.
+ */
+@Entity
+@Table(name = "rollup_watermarks")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupWatermark {
+
+    public static final String MERCHANTS = "merchants";
+
+    @Id
+    @Column(name = "rollup_name")
+    private String name;
+
+    @Column(name = "last_delta_id", nullable = false)
+    private Long lastDeltaId;
+
+    @Column(name = "refreshed_at")
+    private Instant refreshedAt;
+}
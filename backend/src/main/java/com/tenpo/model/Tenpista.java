@@ -2,11 +2,13 @@ package com.tenpo.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.List;
 
 @Entity
 @Table(name = "tenpistas")
+@DynamicUpdate
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,7 +17,7 @@ public class Tenpista {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tenpistas_seq")
-    @SequenceGenerator(name = "tenpistas_seq", sequenceName = "tenpistas_tenpista_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "tenpistas_seq", sequenceName = "tenpistas_tenpista_id_seq", allocationSize = 50)
     @Column(name = "tenpista_id")
     private Integer id;
 
@@ -25,6 +27,15 @@ public class Tenpista {
     @Column(name = "tenpista_rut", nullable = false, unique = true)
     private String rut;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Maintained only through TenpistaRepository's conditional UPDATEs, never by entity flushes
+    @Builder.Default
+    @Column(name = "transaction_count", nullable = false, updatable = false)
+    private Integer transactionCount = 0;
+
     @OneToMany(mappedBy = "tenpista", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Transaction> transactions;
 }
@@ -0,0 +1,41 @@
+package com.tenpo.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running per-tenpista aggregates, kept in step with the transactions table by
+ * TransactionService inside the same database transaction as each write. The
+ * transaction count is not repeated here: it is {@code tenpistas.transaction_count}.
+ */
+@Entity
+@Table(name = "tenpista_summaries", indexes = @Index(name = "idx_tenpista_summaries_total",
+        columnList = "total_amount DESC, tenpista_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenpistaSummary {
+
+    @Id
+    @Column(name = "tenpista_id")
+    private Integer tenpistaId;
+
+    // Lets Hibernate order the summary INSERT after its tenpista's
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tenpista_id")
+    private Tenpista tenpista;
+
+    @Builder.Default
+    @Column(name = "total_amount", nullable = false)
+    private Long totalAmount = 0L;
+
+    @Column(name = "first_transaction_date")
+    private LocalDateTime firstTransactionDate;
+
+    @Column(name = "last_transaction_date")
+    private LocalDateTime lastTransactionDate;
+}
@@ -2,11 +2,14 @@ package com.tenpo.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = @Index(name = "idx_transactions_tenpista_date",
+        columnList = "tenpista_id, transaction_date DESC, transaction_id DESC"))
+@DynamicUpdate
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,7 +18,7 @@ public class Transaction {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
-    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_transaction_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_transaction_id_seq", allocationSize = 50)
     @Column(name = "transaction_id")
     private Integer id;
 
@@ -28,6 +31,10 @@ public class Transaction {
     @Column(name = "transaction_date", nullable = false)
     private LocalDateTime date;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tenpista_id", nullable = false)
     private Tenpista tenpista;
@@ -0,0 +1,18 @@
+package com.tenpo.repository;
+
+import com.tenpo.model.MerchantRollupDelta;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MerchantRollupDeltaRepository extends JpaRepository<MerchantRollupDelta, Long> {
+
+    List<MerchantRollupDelta> findAllByOrderByIdAsc(Limit limit);
+
+    @Query("SELECT COALESCE(MAX(d.id), 0) FROM MerchantRollupDelta d")
+    long findMaxId();
+}
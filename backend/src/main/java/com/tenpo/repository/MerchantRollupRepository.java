@@ -0,0 +1,37 @@
+package com.tenpo.repository;
+
+import com.tenpo.model.MerchantRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MerchantRollupRepository extends JpaRepository<MerchantRollup, MerchantRollup.Key> {
+
+    // Range scan on the (bucket_date, merchant_or_business) primary key; cost follows days x merchants, not rows
+    List<MerchantRollup> findByBucketDateBetween(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("UPDATE MerchantRollup r SET r.transactionCount = r.transactionCount + :count, "
+            + "r.totalAmount = r.totalAmount + :amount "
+            + "WHERE r.bucketDate = :bucketDate AND r.merchant = :merchant")
+    int addDelta(@Param("bucketDate") LocalDate bucketDate, @Param("merchant") String merchant,
+            @Param("count") long count, @Param("amount") long amount);
+
+    @Modifying
+    @Query("DELETE FROM MerchantRollup r WHERE r.transactionCount <= 0")
+    int deleteEmpty();
+
+    @Modifying
+    @Query(value = "INSERT INTO merchant_daily_rollups "
+            + "(bucket_date, merchant_or_business, transaction_count, total_amount) "
+            + "SELECT CAST(transaction_date AS DATE), merchant_or_business, COUNT(*), SUM(transaction_amount) "
+            + "FROM transactions GROUP BY CAST(transaction_date AS DATE), merchant_or_business",
+            nativeQuery = true)
+    int rebuildFromTransactions();
+}
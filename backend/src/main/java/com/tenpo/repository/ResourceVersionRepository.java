@@ -0,0 +1,26 @@
+package com.tenpo.repository;
+
+import com.tenpo.model.ResourceVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ResourceVersionRepository extends JpaRepository<ResourceVersion, String> {
+
+    @Modifying
+    @Query("UPDATE ResourceVersion r SET r.version = r.version + 1 WHERE r.resource = :resource")
+    int increment(@Param("resource") String resource);
+
+    @Query("SELECT r.version FROM ResourceVersion r WHERE r.resource = :resource")
+    Optional<Long> findVersion(@Param("resource") String resource);
+
+    @Query("SELECT r.version FROM ResourceVersion r WHERE r.resource IN :resources ORDER BY r.resource")
+    List<Long> findVersions(@Param("resources") Collection<String> resources);
+}
@@ -0,0 +1,8 @@
+package com.tenpo.repository;
+
+/**
+ * Id, name and transaction count of a tenpista, read without hydrating the
+ * entity and its transactions collection.
+ */
+public record TenpistaNameView(Integer id, String name, Integer transactionCount) {
+}
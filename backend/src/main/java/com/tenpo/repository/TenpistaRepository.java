@@ -1,13 +1,50 @@
 package com.tenpo.repository;
 
+import com.tenpo.config.CacheConfig;
 import com.tenpo.model.Tenpista;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TenpistaRepository extends JpaRepository<Tenpista, Integer> {
 
     Optional<Tenpista> findByRut(String rut);
+
+    // Cached per id; evicted by TenpistaService on update and delete. Misses are not cached.
+    @Cacheable(cacheNames = CacheConfig.TENPISTA_NAMES, key = "#id", unless = "#result == null")
+    @Query("SELECT t.name FROM Tenpista t WHERE t.id = :id")
+    Optional<String> findNameById(@Param("id") Integer id);
+
+    // Item ETag source: one primary-key read of a single column, never the whole row
+    @Query("SELECT t.version FROM Tenpista t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Integer id);
+
+    @Query("SELECT new com.tenpo.repository.TenpistaNameView(t.id, t.name, t.transactionCount) "
+            + "FROM Tenpista t WHERE t.id IN :ids")
+    List<TenpistaNameView> findNamesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Reserves one slot under the cap; returns 0 when the tenpista is already at max (or does not exist)
+    @Modifying
+    @Query("UPDATE Tenpista t SET t.transactionCount = t.transactionCount + 1 "
+            + "WHERE t.id = :id AND t.transactionCount < :max")
+    int incrementTransactionCount(@Param("id") Integer id, @Param("max") int max);
+
+    // Batch variant: reserves all slots or none
+    @Modifying
+    @Query("UPDATE Tenpista t SET t.transactionCount = t.transactionCount + :count "
+            + "WHERE t.id = :id AND t.transactionCount + :count <= :max")
+    int incrementTransactionCountBy(@Param("id") Integer id, @Param("count") int count, @Param("max") int max);
+
+    @Modifying
+    @Query("UPDATE Tenpista t SET t.transactionCount = t.transactionCount - 1 "
+            + "WHERE t.id = :id AND t.transactionCount > 0")
+    int decrementTransactionCount(@Param("id") Integer id);
 }
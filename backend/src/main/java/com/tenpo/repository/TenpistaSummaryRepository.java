@@ -0,0 +1,51 @@
+package com.tenpo.repository;
+
+import com.tenpo.api.dto.TenpistaSummaryDTO;
+import com.tenpo.model.TenpistaSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TenpistaSummaryRepository extends JpaRepository<TenpistaSummary, Integer> {
+
+    @Query("SELECT new com.tenpo.api.dto.TenpistaSummaryDTO(s.tenpistaId, p.name, p.transactionCount, s.totalAmount, "
+            + "s.firstTransactionDate, s.lastTransactionDate) "
+            + "FROM TenpistaSummary s JOIN s.tenpista p WHERE s.tenpistaId = :id")
+    Optional<TenpistaSummaryDTO> findSummaryById(@Param("id") Integer id);
+
+    // Served by idx_tenpista_summaries_total: reads only the first `limit` index entries
+    @Query("SELECT new com.tenpo.api.dto.TenpistaSummaryDTO(s.tenpistaId, p.name, p.transactionCount, s.totalAmount, "
+            + "s.firstTransactionDate, s.lastTransactionDate) "
+            + "FROM TenpistaSummary s JOIN s.tenpista p ORDER BY s.totalAmount DESC, s.tenpistaId ASC")
+    List<TenpistaSummaryDTO> findTopByTotalAmount(Limit limit);
+
+    // Inserts only widen the date range, so the bounds can be folded in without reading the table
+    @Modifying
+    @Query("UPDATE TenpistaSummary s SET s.totalAmount = s.totalAmount + :amount, "
+            + "s.firstTransactionDate = LEAST(COALESCE(s.firstTransactionDate, :first), :first), "
+            + "s.lastTransactionDate = GREATEST(COALESCE(s.lastTransactionDate, :last), :last) "
+            + "WHERE s.tenpistaId = :id")
+    int add(@Param("id") Integer id, @Param("amount") long amount,
+            @Param("first") LocalDateTime first, @Param("last") LocalDateTime last);
+
+    // Removing or moving a row may shrink the range; both bounds are single probes on idx_transactions_tenpista_date.
+    // Pending transaction changes must be flushed first.
+    @Modifying
+    @Query("UPDATE TenpistaSummary s SET s.totalAmount = s.totalAmount + :amount, "
+            + "s.firstTransactionDate = (SELECT MIN(t.date) FROM Transaction t WHERE t.tenpista.id = :id), "
+            + "s.lastTransactionDate = (SELECT MAX(t.date) FROM Transaction t WHERE t.tenpista.id = :id) "
+            + "WHERE s.tenpistaId = :id")
+    int adjustAndRefreshBounds(@Param("id") Integer id, @Param("amount") long amount);
+
+    @Modifying
+    @Query("DELETE FROM TenpistaSummary s WHERE s.tenpistaId = :id")
+    int deleteByTenpistaId(@Param("id") Integer id);
+}
@@ -1,13 +1,21 @@
 package com.tenpo.repository;
 
+import com.tenpo.api.dto.TransactionResponseDTO;
 import com.tenpo.model.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Integer> {
@@ -18,4 +26,38 @@ public interface TransactionRepository extends JpaRepository<Transaction, Intege
 
     @Query("SELECT COUNT(t) FROM Transaction t WHERE t.tenpista.id = :tenpistaId")
     long countByTenpistaId(@Param("tenpistaId") Integer tenpistaId);
+
+    // Item ETag source: one primary-key read of a single column, never the whole row
+    @Query("SELECT t.version FROM Transaction t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Integer id);
+
+    // Keyset pages projected straight into the response DTO: no managed entities, no lazy tenpista fetch
+    @Query("SELECT new com.tenpo.api.dto.TransactionResponseDTO(t.id, t.amount, t.merchantOrBusiness, t.date, p.id, p.name) "
+            + "FROM Transaction t JOIN t.tenpista p WHERE t.id > :after ORDER BY t.id ASC")
+    List<TransactionResponseDTO> findPageAfter(@Param("after") Integer after, Limit limit);
+
+    @Query("SELECT new com.tenpo.api.dto.TransactionResponseDTO(t.id, t.amount, t.merchantOrBusiness, t.date, p.id, p.name) "
+            + "FROM Transaction t JOIN t.tenpista p WHERE t.id < :before ORDER BY t.id DESC")
+    List<TransactionResponseDTO> findPageBefore(@Param("before") Integer before, Limit limit);
+
+    // Newest first within [from, to), resuming strictly after (cursorDate, cursorId); served by idx_transactions_tenpista_date
+    @Query("SELECT new com.tenpo.api.dto.TransactionResponseDTO(t.id, t.amount, t.merchantOrBusiness, t.date, p.id, p.name) "
+            + "FROM Transaction t JOIN t.tenpista p "
+            + "WHERE t.tenpista.id = :tenpistaId AND t.date >= :from AND t.date < :to "
+            + "AND (t.date < :cursorDate OR (t.date = :cursorDate AND t.id < :cursorId)) "
+            + "ORDER BY t.date DESC, t.id DESC")
+    List<TransactionResponseDTO> findTenpistaPage(@Param("tenpistaId") Integer tenpistaId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Integer cursorId,
+            Limit limit);
+
+    // Cursor-backed stream for exports; must be consumed inside a transaction and closed by the caller
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT new com.tenpo.api.dto.TransactionResponseDTO(t.id, t.amount, t.merchantOrBusiness, t.date, p.id, p.name) "
+            + "FROM Transaction t JOIN t.tenpista p ORDER BY t.id ASC")
+    Stream<TransactionResponseDTO> streamAll();
 }
@@ -0,0 +1,198 @@
+package com.tenpo.service;
+
+import com.tenpo.api.dto.MerchantBucketDTO;
+import com.tenpo.api.dto.MerchantVolumeDTO;
+import com.tenpo.config.AnalyticsProperties;
+import com.tenpo.model.MerchantRollup;
+import com.tenpo.model.MerchantRollupDelta;
+import com.tenpo.model.RollupWatermark;
+import com.tenpo.model.Transaction;
+import com.tenpo.repository.MerchantRollupDeltaRepository;
+import com.tenpo.repository.MerchantRollupRepository;
+import com.tenpo.repository.RollupWatermarkRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Top merchants by volume per day or week, read from {@code merchant_daily_rollups}
+ * instead of scanning {@code transactions}. Writers record deltas in their own
+ * transaction; {@link #refresh()} folds them in, so results trail writes by at
+ * most one refresh interval.
+ */
+@Service
+@RequiredArgsConstructor
+@SuppressWarnings("null")
+public class MerchantAnalyticsService {
+
+    static final int MAX_TOP = 100;
+
+    private final MerchantRollupRepository merchantRollupRepository;
+    private final MerchantRollupDeltaRepository merchantRollupDeltaRepository;
+    private final RollupWatermarkRepository rollupWatermarkRepository;
+    private final AnalyticsProperties analyticsProperties;
+
+    // One delta per (day, merchant) in the batch, not per transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdded(List<Transaction> transactions) {
+        Map<MerchantRollup.Key, MerchantRollupDelta> deltas = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            MerchantRollup.Key key = new MerchantRollup.Key(transaction.getDate().toLocalDate(),
+                    transaction.getMerchantOrBusiness());
+            MerchantRollupDelta delta = deltas.computeIfAbsent(key, k -> MerchantRollupDelta.builder()
+                    .bucketDate(k.getBucketDate())
+                    .merchant(k.getMerchant())
+                    .countDelta(0)
+                    .amountDelta(0L)
+                    .build());
+            delta.setCountDelta(delta.getCountDelta() + 1);
+            delta.setAmountDelta(delta.getAmountDelta() + transaction.getAmount());
+        }
+        merchantRollupDeltaRepository.saveAll(deltas.values());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(LocalDateTime date, String merchant, int amount) {
+        merchantRollupDeltaRepository.save(MerchantRollupDelta.builder()
+                .bucketDate(date.toLocalDate())
+                .merchant(merchant)
+                .countDelta(-1)
+                .amountDelta((long) -amount)
+                .build());
+    }
+
+    /**
+     * Folds up to {@code batchSize} pending deltas into the rollups and deletes
+     * them. Returns how many were applied; callers loop while a full batch was
+     * returned.
+     */
+    @Transactional
+    public int refresh() {
+        RollupWatermark watermark = lockWatermark();
+        List<MerchantRollupDelta> deltas = merchantRollupDeltaRepository
+                .findAllByOrderByIdAsc(Limit.of(analyticsProperties.batchSize()));
+        if (deltas.isEmpty()) {
+            watermark.setRefreshedAt(Instant.now());
+            return 0;
+        }
+
+        Map<MerchantRollup.Key, long[]> totals = new LinkedHashMap<>();
+        List<Long> ids = new ArrayList<>(deltas.size());
+        for (MerchantRollupDelta delta : deltas) {
+            long[] total = totals.computeIfAbsent(
+                    new MerchantRollup.Key(delta.getBucketDate(), delta.getMerchant()), k -> new long[2]);
+            total[0] += delta.getCountDelta();
+            total[1] += delta.getAmountDelta();
+            ids.add(delta.getId());
+        }
+
+        // One UPDATE per touched bucket; an INSERT only the first time a merchant shows up on a day
+        totals.forEach((key, total) -> {
+            if (merchantRollupRepository.addDelta(key.getBucketDate(), key.getMerchant(), total[0], total[1]) == 0) {
+                merchantRollupRepository.save(MerchantRollup.builder()
+                        .bucketDate(key.getBucketDate())
+                        .merchant(key.getMerchant())
+                        .transactionCount(total[0])
+                        .totalAmount(total[1])
+                        .build());
+            }
+        });
+        merchantRollupRepository.deleteEmpty();
+
+        // Delete by id rather than by range: sequence ids can commit out of order
+        merchantRollupDeltaRepository.deleteAllByIdInBatch(ids);
+        watermark.setLastDeltaId(Math.max(watermark.getLastDeltaId(), ids.get(ids.size() - 1)));
+        watermark.setRefreshedAt(Instant.now());
+        return deltas.size();
+    }
+
+    /**
+     * Recomputes every rollup from {@code transactions}. The snapshot that feeds
+     * the INSERT also decides which deltas are already accounted for, so deltas
+     * committed meanwhile survive for the next refresh.
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void rebuild() {
+        RollupWatermark watermark = lockWatermark();
+        long lastDeltaId = merchantRollupDeltaRepository.findMaxId();
+        merchantRollupRepository.deleteAllInBatch();
+        merchantRollupRepository.rebuildFromTransactions();
+        merchantRollupDeltaRepository.deleteAllInBatch();
+        watermark.setLastDeltaId(Math.max(watermark.getLastDeltaId(), lastDeltaId));
+        watermark.setRefreshedAt(Instant.now());
+    }
+
+    @Transactional(readOnly = true)
+    public List<MerchantBucketDTO> getTopMerchants(LocalDate from, LocalDate to, String bucket, int top) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(6);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= analyticsProperties.maxRangeDays()) {
+            throw new IllegalArgumentException(String.format("Date range exceeds the maximum of %d days.",
+                    analyticsProperties.maxRangeDays()));
+        }
+        boolean weekly = switch (bucket.toLowerCase(Locale.ROOT)) {
+            case "day" -> false;
+            case "week" -> true;
+            default -> throw new IllegalArgumentException("Bucket must be 'day' or 'week'");
+        };
+        int limit = Math.min(Math.max(top, 1), MAX_TOP);
+
+        // Weeks start on Monday; a partial first or last week only counts the days inside the range
+        Map<LocalDate, Map<String, long[]>> buckets = new TreeMap<>();
+        for (MerchantRollup rollup : merchantRollupRepository.findByBucketDateBetween(start, end)) {
+            LocalDate key = weekly
+                    ? rollup.getBucketDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    : rollup.getBucketDate();
+            long[] total = buckets.computeIfAbsent(key, k -> new HashMap<>())
+                    .computeIfAbsent(rollup.getMerchant(), k -> new long[2]);
+            total[0] += rollup.getTransactionCount();
+            total[1] += rollup.getTotalAmount();
+        }
+
+        List<MerchantBucketDTO> result = new ArrayList<>(buckets.size());
+        buckets.forEach((day, merchants) -> result.add(MerchantBucketDTO.builder()
+                .bucket(day)
+                .merchants(merchants.entrySet().stream()
+                        .map(e -> MerchantVolumeDTO.builder()
+                                .merchant(e.getKey())
+                                .transactionCount(e.getValue()[0])
+                                .totalAmount(e.getValue()[1])
+                                .build())
+                        .sorted(Comparator.comparing(MerchantVolumeDTO::totalAmount).reversed()
+                                .thenComparing(MerchantVolumeDTO::merchant))
+                        .limit(limit)
+                        .toList())
+                .build()));
+        return result;
+    }
+
+    int batchSize() {
+        return analyticsProperties.batchSize();
+    }
+
+    private RollupWatermark lockWatermark() {
+        return rollupWatermarkRepository.findForUpdate(RollupWatermark.MERCHANTS)
+                .orElseThrow(() -> new IllegalStateException("Missing rollup watermark: " + RollupWatermark.MERCHANTS));
+    }
+}
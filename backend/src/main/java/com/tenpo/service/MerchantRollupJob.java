@@ -0,0 +1,26 @@
+package com.tenpo.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the merchant rollup deltas on a fixed delay. Each batch commits on its
+ * own, so a large backlog does not hold one long transaction or the watermark
+ * lock for its whole duration.
+ */
+@Component
+@RequiredArgsConstructor
+public class MerchantRollupJob {
+
+    private final MerchantAnalyticsService merchantAnalyticsService;
+
+    @Scheduled(fixedDelayString = "${tenpo.analytics.refresh-interval:30s}",
+            initialDelayString = "${tenpo.analytics.refresh-interval:30s}")
+    public void refresh() {
+        int applied;
+        do {
+            applied = merchantAnalyticsService.refresh();
+        } while (applied > 0 && applied >= merchantAnalyticsService.batchSize());
+    }
+}
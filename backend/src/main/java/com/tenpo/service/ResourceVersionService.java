@@ -0,0 +1,106 @@
+package com.tenpo.service;
+
+import com.tenpo.repository.ResourceVersionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ResourceVersionService {
+
+    private final ResourceVersionRepository resourceVersionRepository;
+    private final TransactionTemplate bumpTransaction;
+
+    public ResourceVersionService(ResourceVersionRepository resourceVersionRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.resourceVersionRepository = resourceVersionRepository;
+        this.bumpTransaction = new TransactionTemplate(transactionManager);
+        this.bumpTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Bumps the counter once the caller's write transaction commits, in a
+     * transaction of its own. Incrementing inside the caller's transaction would
+     * hold the counter row's lock until that commit and serialize every write
+     * to the table on it. A rolled-back write bumps nothing; a reader between
+     * the commit and the bump can still get the new rows under the old ETag,
+     * and the bump moves it on a moment later.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(String resource) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    bumpTransaction.executeWithoutResult(status -> resourceVersionRepository.increment(resource));
+                } catch (RuntimeException e) {
+                    // The write itself is committed; the ETag catches up with the next bump
+                    log.warn("Could not bump the {} version counter", resource, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Strong ETag covering every listed resource, read from the counters only.
+     */
+    @Transactional(readOnly = true)
+    public String etag(String... resources) {
+        return resourceVersionRepository.findVersions(List.of(resources)).stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    @Transactional(readOnly = true)
+    public long version(String resource) {
+        return resourceVersionRepository.findVersion(resource).orElse(0L);
+    }
+
+    public static String entityTag(Object... versions) {
+        return Arrays.stream(versions)
+                .map(String::valueOf)
+                .collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    /**
+     * {@code If-Match} evaluation (RFC 9110 section 13.1.1): {@code *} matches any
+     * existing representation, otherwise one listed tag must strongly equal
+     * {@code etag}. Weak tags never match.
+     */
+    public static boolean matches(String ifMatch, String etag) {
+        if (ifMatch.trim().equals("*")) {
+            return true;
+        }
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(etag::equals);
+    }
+
+    /**
+     * Like {@link #matches} but only against the leading {@code version} of a
+     * tag from {@link #entityTag}, ignoring the counters after it. Those track
+     * embedded data, such as tenpista names, and say nothing about whether the
+     * row itself was modified.
+     */
+    public static boolean matchesVersion(String ifMatch, long version) {
+        if (ifMatch.trim().equals("*")) {
+            return true;
+        }
+        String exact = "\"" + version + "\"";
+        String prefix = "\"" + version + "-";
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(tag -> tag.equals(exact) || (tag.startsWith(prefix) && tag.endsWith("\"")));
+    }
+}
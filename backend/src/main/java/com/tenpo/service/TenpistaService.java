@@ -1,17 +1,34 @@
 package com.tenpo.service;
 
+import com.tenpo.api.dto.CursorPageDTO;
 import com.tenpo.api.dto.TenpistaRequestDTO;
 import com.tenpo.api.dto.TenpistaResponseDTO;
+import com.tenpo.api.dto.TenpistaSummaryDTO;
+import com.tenpo.api.dto.TransactionResponseDTO;
+import com.tenpo.config.CacheConfig;
+import com.tenpo.model.ResourceVersion;
 import com.tenpo.model.Tenpista;
+import com.tenpo.model.TenpistaSummary;
 import com.tenpo.repository.TenpistaRepository;
+import com.tenpo.repository.TenpistaSummaryRepository;
 import com.tenpo.repository.TransactionRepository;
+import com.tenpo.exception.PreconditionFailedException;
 import com.tenpo.exception.TenpistaHasTransactionsException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.dao.DataIntegrityViolationException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,8 +36,13 @@ import java.util.stream.Collectors;
 @SuppressWarnings("null")
 public class TenpistaService {
 
+        private static final LocalDateTime MIN_DATE = LocalDateTime.of(1900, 1, 1, 0, 0);
+        private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
         private final TenpistaRepository tenpistaRepository;
         private final TransactionRepository transactionRepository;
+        private final TenpistaSummaryRepository tenpistaSummaryRepository;
+        private final ResourceVersionService resourceVersionService;
 
         @Transactional
         public TenpistaResponseDTO createTenpista(TenpistaRequestDTO request) {
@@ -30,6 +52,8 @@ public class TenpistaService {
                                 .build();
 
                 tenpista = tenpistaRepository.save(tenpista);
+                tenpistaSummaryRepository.save(TenpistaSummary.builder().tenpista(tenpista).build());
+                resourceVersionService.bump(ResourceVersion.TENPISTAS);
                 return mapToResponse(tenpista);
         }
 
@@ -40,33 +64,109 @@ public class TenpistaService {
                                 .collect(Collectors.toList());
         }
 
-        @Transactional(readOnly = true)
+        // Not read-only, so a miss loads from the primary: a row from a lagging replica would stay cached
+        // for the whole TTL after the update that evicted it
+        @Cacheable(cacheNames = CacheConfig.TENPISTAS, key = "#id")
+        @Transactional
         public TenpistaResponseDTO getTenpistaById(Integer id) {
                 Tenpista tenpista = tenpistaRepository.findById(id)
                                 .orElseThrow(() -> new RuntimeException("Tenpista not found"));
                 return mapToResponse(tenpista);
         }
 
+        @Transactional(readOnly = true)
+        public TenpistaSummaryDTO getTenpistaSummary(Integer id) {
+                return tenpistaSummaryRepository.findSummaryById(id)
+                                .orElseThrow(() -> new RuntimeException("Tenpista not found"));
+        }
+
+        @Transactional(readOnly = true)
+        public List<TenpistaSummaryDTO> getTenpistaSummaries(int limit) {
+                int pageSize = Math.min(Math.max(limit, 1), TransactionService.MAX_PAGE_SIZE);
+                return tenpistaSummaryRepository.findTopByTotalAmount(Limit.of(pageSize));
+        }
+
+        @Transactional(readOnly = true)
+        public CursorPageDTO<TransactionResponseDTO> getTenpistaTransactions(Integer id, LocalDateTime from,
+                        LocalDateTime to, int limit, String cursor) {
+                if (!tenpistaRepository.existsById(id)) {
+                        throw new RuntimeException("Tenpista not found");
+                }
+
+                int pageSize = Math.min(Math.max(limit, 1), TransactionService.MAX_PAGE_SIZE);
+                LocalDateTime upper = to != null ? to : MAX_DATE;
+                LocalDateTime cursorDate = upper;
+                Integer cursorId = Integer.MIN_VALUE;
+                if (cursor != null) {
+                        String[] parts = decodeCursor(cursor);
+                        cursorDate = LocalDateTime.parse(parts[0]);
+                        cursorId = Integer.valueOf(parts[1]);
+                }
+
+                // Fetch one extra row to know whether a next page exists without a COUNT query
+                List<TransactionResponseDTO> rows = transactionRepository.findTenpistaPage(id,
+                                from != null ? from : MIN_DATE, upper, cursorDate, cursorId,
+                                Limit.of(pageSize + 1));
+
+                if (rows.size() <= pageSize) {
+                        return new CursorPageDTO<>(rows, null);
+                }
+                List<TransactionResponseDTO> page = rows.subList(0, pageSize);
+                TransactionResponseDTO last = page.get(pageSize - 1);
+                return new CursorPageDTO<>(page, encodeCursor(last.date(), last.id()));
+        }
+
+        @Caching(evict = {
+                        @CacheEvict(cacheNames = CacheConfig.TENPISTAS, key = "#id"),
+                        @CacheEvict(cacheNames = CacheConfig.TENPISTA_NAMES, key = "#id") })
         @Transactional
-        public TenpistaResponseDTO updateTenpista(Integer id, TenpistaRequestDTO request) {
+        public Versioned<TenpistaResponseDTO> updateTenpista(Integer id, TenpistaRequestDTO request,
+                        String ifMatch) {
                 Tenpista tenpista = tenpistaRepository.findById(id)
                                 .orElseThrow(() -> new RuntimeException("Tenpista not found"));
 
+                String etag = ResourceVersionService.entityTag(tenpista.getVersion());
+                if (ifMatch != null && !ResourceVersionService.matches(ifMatch, etag)) {
+                        throw new PreconditionFailedException("Tenpista was modified since it was read");
+                }
+
+                // Nothing changed: no UPDATE, no version bump, same ETag
+                if (Objects.equals(tenpista.getName(), request.name())
+                                && Objects.equals(tenpista.getRut(), request.rut())) {
+                        return new Versioned<>(mapToResponse(tenpista), etag);
+                }
+
                 tenpista.setName(request.name());
                 tenpista.setRut(request.rut());
 
-                tenpista = tenpistaRepository.save(tenpista);
-                return mapToResponse(tenpista);
+                // Flush now so the incremented @Version is known for the response ETag; a concurrent
+                // commit since findById fails the versioned UPDATE with an optimistic locking error
+                tenpista = tenpistaRepository.saveAndFlush(tenpista);
+                resourceVersionService.bump(ResourceVersion.TENPISTAS);
+                return new Versioned<>(mapToResponse(tenpista),
+                                ResourceVersionService.entityTag(tenpista.getVersion()));
         }
 
+        // Per-row @Version rather than the TENPISTAS counter: PUT's If-Match is checked against it, and
+        // a write to one tenpista does not invalidate every other tenpista's cached copy
+        @Transactional(readOnly = true)
+        public String getTenpistaEtag(Integer id) {
+                return tenpistaRepository.findVersionById(id)
+                                .map(ResourceVersionService::entityTag)
+                                .orElse(null);
+        }
+
+        @Caching(evict = {
+                        @CacheEvict(cacheNames = CacheConfig.TENPISTAS, key = "#id"),
+                        @CacheEvict(cacheNames = CacheConfig.TENPISTA_NAMES, key = "#id") })
         @Transactional
         public void deleteTenpista(Integer id) {
                 // Check if tenpista exists
                 Tenpista tenpista = tenpistaRepository.findById(id)
                                 .orElseThrow(() -> new RuntimeException("Tenpista not found"));
 
-                // Check if tenpista has transactions
-                long transactionCount = transactionRepository.countByTenpistaId(id);
+                // transaction_count is kept by every write, so the loaded row answers without a COUNT(*)
+                int transactionCount = tenpista.getTransactionCount();
                 if (transactionCount > 0) {
                         throw new TenpistaHasTransactionsException(
                                         String.format("Cannot delete tenpista. %d transaction(s) still associated with this tenpista.",
@@ -74,12 +174,34 @@ public class TenpistaService {
                 }
 
                 // Attempt deletion with fallback for race conditions
+                tenpistaSummaryRepository.deleteByTenpistaId(id);
                 try {
                         tenpistaRepository.delete(tenpista);
                 } catch (DataIntegrityViolationException e) {
                         throw new TenpistaHasTransactionsException(
                                         "Cannot delete tenpista with existing transactions.");
                 }
+                resourceVersionService.bump(ResourceVersion.TENPISTAS);
+        }
+
+        private static String encodeCursor(LocalDateTime date, Integer id) {
+                return Base64.getUrlEncoder().withoutPadding()
+                                .encodeToString((date + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static String[] decodeCursor(String cursor) {
+                try {
+                        String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                                        .split("\\|");
+                        if (parts.length != 2) {
+                                throw new IllegalArgumentException("Invalid cursor");
+                        }
+                        LocalDateTime.parse(parts[0]);
+                        Integer.parseInt(parts[1]);
+                        return parts;
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                        throw new IllegalArgumentException("Invalid cursor", e);
+                }
         }
 
         private TenpistaResponseDTO mapToResponse(@org.springframework.lang.NonNull Tenpista tenpista) {
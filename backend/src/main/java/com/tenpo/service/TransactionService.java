@@ -1,47 +1,238 @@
 package com.tenpo.service;
 
+import com.tenpo.api.dto.CursorPageDTO;
+import com.tenpo.api.dto.TransactionBatchItemResultDTO;
+import com.tenpo.api.dto.TransactionBatchResponseDTO;
 import com.tenpo.api.dto.TransactionRequestDTO;
 import com.tenpo.api.dto.TransactionResponseDTO;
+import com.tenpo.config.TransactionProperties;
+import com.tenpo.exception.PreconditionFailedException;
+import com.tenpo.exception.TransactionLimitExceededException;
+import com.tenpo.interceptor.RateLimiter;
+import com.tenpo.model.ResourceVersion;
 import com.tenpo.model.Tenpista;
 import com.tenpo.model.Transaction;
+import com.tenpo.repository.TenpistaNameView;
 import com.tenpo.repository.TenpistaRepository;
+import com.tenpo.repository.TenpistaSummaryRepository;
 import com.tenpo.repository.TransactionRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @SuppressWarnings("null")
 public class TransactionService {
 
+    static final int MAX_PAGE_SIZE = 500;
+
     private final TransactionRepository transactionRepository;
     private final TenpistaRepository tenpistaRepository;
+    private final TenpistaSummaryRepository tenpistaSummaryRepository;
+    private final TransactionProperties transactionProperties;
+    private final Validator validator;
+    private final ResourceVersionService resourceVersionService;
+    private final MerchantAnalyticsService merchantAnalyticsService;
+    private final RateLimiter rateLimiter;
+    private final PlatformTransactionManager transactionManager;
 
     @Transactional
     public TransactionResponseDTO createTransaction(TransactionRequestDTO request) {
-        Tenpista tenpista = tenpistaRepository.findById(request.tenpistaId())
-                .orElseThrow(() -> new RuntimeException("Tenpista not found"));
+        String tenpistaName = findTenpistaName(request.tenpistaId());
+        reserveTransactionSlot(request.tenpistaId());
 
         Transaction transaction = Transaction.builder()
                 .amount(request.amount())
                 .merchantOrBusiness(request.merchantOrBusiness())
                 .date(request.date())
-                .tenpista(tenpista)
+                .tenpista(tenpistaRepository.getReferenceById(request.tenpistaId()))
                 .build();
 
         transaction = transactionRepository.save(transaction);
-        return mapToResponse(transaction);
+        tenpistaSummaryRepository.add(request.tenpistaId(), request.amount(), request.date(), request.date());
+        merchantAnalyticsService.recordAdded(List.of(transaction));
+        resourceVersionService.bump(ResourceVersion.TRANSACTIONS);
+        return mapToResponse(transaction, tenpistaName);
+    }
+
+    /**
+     * Not {@code @Transactional}: the cap pre-check and the rate limiter run
+     * before the write transaction opens. A group refused by the cap spends no
+     * tokens, a jdbc bucket row is locked only for its own upsert, and a
+     * rolled-back batch does not refund what it was charged. The conditional
+     * UPDATE inside the write transaction still enforces the cap, so a group
+     * that fills up concurrently after the pre-check is refused there.
+     */
+    public TransactionBatchResponseDTO createTransactions(List<TransactionRequestDTO> requests) {
+        if (requests.size() > transactionProperties.maxBatchSize()) {
+            throw new IllegalArgumentException(String.format("Batch of %d transactions exceeds the maximum of %d.",
+                    requests.size(), transactionProperties.maxBatchSize()));
+        }
+
+        String[] errors = new String[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            errors[i] = validate(requests.get(i));
+        }
+
+        // One IN query for every tenpista referenced by a valid item
+        Set<Integer> tenpistaIds = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (errors[i] == null) {
+                tenpistaIds.add(requests.get(i).tenpistaId());
+            }
+        }
+        Map<Integer, TenpistaNameView> tenpistas = tenpistaRepository.findNamesByIdIn(tenpistaIds).stream()
+                .collect(Collectors.toMap(TenpistaNameView::id, view -> view));
+
+        Map<Integer, List<Integer>> indexesByTenpista = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (errors[i] != null) {
+                continue;
+            }
+            Integer tenpistaId = requests.get(i).tenpistaId();
+            if (!tenpistas.containsKey(tenpistaId)) {
+                errors[i] = "Tenpista not found";
+                continue;
+            }
+            indexesByTenpista.computeIfAbsent(tenpistaId, k -> new ArrayList<>()).add(i);
+        }
+
+        // Cap first, then tokens, so a share the cap refuses costs nothing
+        int maxPerClient = transactionProperties.maxPerClient();
+        indexesByTenpista.entrySet().removeIf(entry -> {
+            Integer tenpistaId = entry.getKey();
+            List<Integer> indexes = entry.getValue();
+            if (tenpistas.get(tenpistaId).transactionCount() + indexes.size() > maxPerClient) {
+                rejectShare(errors, indexes, capError(tenpistaId, indexes.size(), maxPerClient));
+                return true;
+            }
+            // The batch endpoint skips the POST interceptor, so each item costs the same token a single create does
+            if (!rateLimiter.tryAcquire(String.valueOf(tenpistaId), indexes.size())) {
+                rejectShare(errors, indexes, String.format(
+                        "Rate limit is %d per minute for tenpista %d; %d transactions refused.",
+                        rateLimiter.requestsPerMinute(), tenpistaId, indexes.size()));
+                return true;
+            }
+            return false;
+        });
+
+        return new TransactionTemplate(transactionManager).execute(status ->
+                insertBatch(requests, errors, tenpistas, indexesByTenpista, maxPerClient));
+    }
+
+    private TransactionBatchResponseDTO insertBatch(List<TransactionRequestDTO> requests, String[] errors,
+                                                    Map<Integer, TenpistaNameView> tenpistas,
+                                                    Map<Integer, List<Integer>> indexesByTenpista,
+                                                    int maxPerClient) {
+        // Reserve each tenpista's share of the batch in one conditional UPDATE; all of it or none
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<Transaction> transactions = new ArrayList<>();
+        indexesByTenpista.forEach((tenpistaId, indexes) -> {
+            if (tenpistaRepository.incrementTransactionCountBy(tenpistaId, indexes.size(), maxPerClient) == 0) {
+                rejectShare(errors, indexes, capError(tenpistaId, indexes.size(), maxPerClient));
+                return;
+            }
+            Tenpista tenpista = tenpistaRepository.getReferenceById(tenpistaId);
+            long amount = 0;
+            LocalDateTime first = null;
+            LocalDateTime last = null;
+            for (Integer i : indexes) {
+                TransactionRequestDTO request = requests.get(i);
+                amount += request.amount();
+                first = first == null || request.date().isBefore(first) ? request.date() : first;
+                last = last == null || request.date().isAfter(last) ? request.date() : last;
+                acceptedIndexes.add(i);
+                transactions.add(Transaction.builder()
+                        .amount(request.amount())
+                        .merchantOrBusiness(request.merchantOrBusiness())
+                        .date(request.date())
+                        .tenpista(tenpista)
+                        .build());
+            }
+            // One summary UPDATE per tenpista, not per item
+            tenpistaSummaryRepository.add(tenpistaId, amount, first, last);
+        });
+
+        // Flushed as JDBC batches (hibernate.jdbc.batch_size)
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        if (!saved.isEmpty()) {
+            merchantAnalyticsService.recordAdded(saved);
+            resourceVersionService.bump(ResourceVersion.TRANSACTIONS);
+        }
+
+        TransactionResponseDTO[] created = new TransactionResponseDTO[requests.size()];
+        for (int j = 0; j < saved.size(); j++) {
+            Transaction transaction = saved.get(j);
+            created[acceptedIndexes.get(j)] = mapToResponse(transaction,
+                    tenpistas.get(transaction.getTenpista().getId()).name());
+        }
+
+        List<TransactionBatchItemResultDTO> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(TransactionBatchItemResultDTO.builder()
+                    .index(i)
+                    .transaction(created[i])
+                    .error(errors[i])
+                    .build());
+        }
+        return TransactionBatchResponseDTO.builder()
+                .created(saved.size())
+                .failed(requests.size() - saved.size())
+                .results(results)
+                .build();
+    }
+
+    private static void rejectShare(String[] errors, List<Integer> indexes, String error) {
+        indexes.forEach(i -> errors[i] = error);
+    }
+
+    private static String capError(Integer tenpistaId, int count, int maxPerClient) {
+        return String.format("Tenpista %d cannot take %d more transactions (maximum %d).",
+                tenpistaId, count, maxPerClient);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TransactionResponseDTO> getTransactions(Integer after, int limit, Sort.Direction direction) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        // Fetch one extra row to know whether a next page exists without a COUNT query
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        List<TransactionResponseDTO> rows = direction.isAscending()
+                ? transactionRepository.findPageAfter(after != null ? after : 0, fetchLimit)
+                : transactionRepository.findPageBefore(after != null ? after : Integer.MAX_VALUE, fetchLimit);
+
+        if (rows.size() <= pageSize) {
+            return new CursorPageDTO<>(rows, null);
+        }
+        List<TransactionResponseDTO> page = rows.subList(0, pageSize);
+        return new CursorPageDTO<>(page, String.valueOf(page.get(pageSize - 1).id()));
     }
 
     @Transactional(readOnly = true)
-    public List<TransactionResponseDTO> getAllTransactions() {
-        return transactionRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public void exportTransactions(Consumer<TransactionResponseDTO> consumer) {
+        // Rows are DTO projections, so nothing accumulates in the persistence context while streaming
+        try (Stream<TransactionResponseDTO> rows = transactionRepository.streamAll()) {
+            rows.forEach(consumer);
+        }
     }
 
     @Transactional(readOnly = true)
@@ -51,36 +242,145 @@ public class TransactionService {
         return mapToResponse(transaction);
     }
 
+    /**
+     * Item ETag: the row's @Version plus the tenpistas counter, since the
+     * response embeds the tenpista name. The version costs one primary-key
+     * read; a transactions counter would be free to read but would change on
+     * every write to any transaction.
+     */
+    @Transactional(readOnly = true)
+    public String getTransactionEtag(Integer id) {
+        return transactionRepository.findVersionById(id)
+                .map(version -> ResourceVersionService.entityTag(version,
+                        resourceVersionService.version(ResourceVersion.TENPISTAS)))
+                .orElse(null);
+    }
+
     @Transactional
-    public TransactionResponseDTO updateTransaction(Integer id, TransactionRequestDTO request) {
+    public Versioned<TransactionResponseDTO> updateTransaction(Integer id, TransactionRequestDTO request,
+            String ifMatch) {
         Transaction transaction = transactionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
 
-        Tenpista tenpista = tenpistaRepository.findById(request.tenpistaId())
-                .orElseThrow(() -> new RuntimeException("Tenpista not found"));
+        // Only the row's own version guards the write; a renamed tenpista must not fail it with a 412
+        if (ifMatch != null && !ResourceVersionService.matchesVersion(ifMatch, transaction.getVersion())) {
+            throw new PreconditionFailedException("Transaction was modified since it was read");
+        }
 
+        String tenpistaName = findTenpistaName(request.tenpistaId());
+        long tenpistasVersion = resourceVersionService.version(ResourceVersion.TENPISTAS);
+        String etag = ResourceVersionService.entityTag(transaction.getVersion(), tenpistasVersion);
+
+        // Reading the id of the lazy proxy does not initialize it
+        Integer previousTenpistaId = transaction.getTenpista().getId();
+
+        // Nothing changed: no UPDATE, no version bump, same ETag
+        if (previousTenpistaId.equals(request.tenpistaId())
+                && Objects.equals(transaction.getAmount(), request.amount())
+                && Objects.equals(transaction.getMerchantOrBusiness(), request.merchantOrBusiness())
+                && Objects.equals(transaction.getDate(), request.date())) {
+            return new Versioned<>(mapToResponse(transaction, tenpistaName), etag);
+        }
+
+        if (!previousTenpistaId.equals(request.tenpistaId())) {
+            reserveTransactionSlot(request.tenpistaId());
+            tenpistaRepository.decrementTransactionCount(previousTenpistaId);
+            transaction.setTenpista(tenpistaRepository.getReferenceById(request.tenpistaId()));
+        }
+
+        int previousAmount = transaction.getAmount();
+        String previousMerchant = transaction.getMerchantOrBusiness();
+        LocalDateTime previousDate = transaction.getDate();
         transaction.setAmount(request.amount());
         transaction.setMerchantOrBusiness(request.merchantOrBusiness());
         transaction.setDate(request.date());
-        transaction.setTenpista(tenpista);
 
-        transaction = transactionRepository.save(transaction);
-        return mapToResponse(transaction);
+        // @DynamicUpdate writes only the changed columns; flushing here yields the new @Version for the
+        // ETag, and a concurrent commit since findById fails the versioned UPDATE
+        transaction = transactionRepository.saveAndFlush(transaction);
+        updateSummaries(previousTenpistaId, previousAmount, previousDate, request);
+        // A tenpista-only move leaves the merchant rollups untouched
+        if (previousAmount != request.amount() || !previousMerchant.equals(request.merchantOrBusiness())
+                || !previousDate.equals(request.date())) {
+            merchantAnalyticsService.recordRemoved(previousDate, previousMerchant, previousAmount);
+            merchantAnalyticsService.recordAdded(List.of(transaction));
+        }
+        resourceVersionService.bump(ResourceVersion.TRANSACTIONS);
+        return new Versioned<>(mapToResponse(transaction, tenpistaName),
+                ResourceVersionService.entityTag(transaction.getVersion(), tenpistasVersion));
     }
 
     @Transactional
     public void deleteTransaction(Integer id) {
-        transactionRepository.deleteById(id);
+        transactionRepository.findById(id).ifPresent(transaction -> {
+            Integer tenpistaId = transaction.getTenpista().getId();
+            transactionRepository.delete(transaction);
+            transactionRepository.flush();
+            tenpistaRepository.decrementTransactionCount(tenpistaId);
+            tenpistaSummaryRepository.adjustAndRefreshBounds(tenpistaId, -transaction.getAmount());
+            merchantAnalyticsService.recordRemoved(transaction.getDate(), transaction.getMerchantOrBusiness(),
+                    transaction.getAmount());
+            resourceVersionService.bump(ResourceVersion.TRANSACTIONS);
+        });
+    }
+
+    // Runs after the updated row is flushed, so refreshed bounds already see its new date
+    private void updateSummaries(Integer previousTenpistaId, int previousAmount, LocalDateTime previousDate,
+            TransactionRequestDTO request) {
+        if (!previousTenpistaId.equals(request.tenpistaId())) {
+            tenpistaSummaryRepository.adjustAndRefreshBounds(previousTenpistaId, -previousAmount);
+            tenpistaSummaryRepository.add(request.tenpistaId(), request.amount(), request.date(), request.date());
+        } else if (!previousDate.equals(request.date())) {
+            tenpistaSummaryRepository.adjustAndRefreshBounds(previousTenpistaId,
+                    (long) request.amount() - previousAmount);
+        } else if (previousAmount != request.amount()) {
+            tenpistaSummaryRepository.add(previousTenpistaId, (long) request.amount() - previousAmount,
+                    request.date(), request.date());
+        }
+    }
+
+    // Existence check and response name in one narrow query; the FK is attached through getReferenceById
+    private String findTenpistaName(Integer tenpistaId) {
+        return tenpistaRepository.findNameById(tenpistaId)
+                .orElseThrow(() -> new RuntimeException("Tenpista not found"));
+    }
+
+    private String validate(TransactionRequestDTO request) {
+        if (request == null) {
+            return "Transaction is required";
+        }
+        Set<ConstraintViolation<TransactionRequestDTO>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void reserveTransactionSlot(Integer tenpistaId) {
+        // Single conditional row update: the row lock serializes concurrent inserts for the same tenpista
+        int maxPerClient = transactionProperties.maxPerClient();
+        if (tenpistaRepository.incrementTransactionCount(tenpistaId, maxPerClient) == 0) {
+            throw new TransactionLimitExceededException(String.format(
+                    "Tenpista %d has reached the maximum of %d transactions.", tenpistaId, maxPerClient));
+        }
     }
 
     private TransactionResponseDTO mapToResponse(@org.springframework.lang.NonNull Transaction transaction) {
+        return mapToResponse(transaction, transaction.getTenpista().getName());
+    }
+
+    private TransactionResponseDTO mapToResponse(@org.springframework.lang.NonNull Transaction transaction,
+            String tenpistaName) {
         return TransactionResponseDTO.builder()
                 .id(transaction.getId())
                 .amount(transaction.getAmount())
                 .merchantOrBusiness(transaction.getMerchantOrBusiness())
                 .date(transaction.getDate())
                 .tenpistaId(transaction.getTenpista().getId())
-                .tenpistaName(transaction.getTenpista().getName())
+                .tenpistaName(tenpistaName)
                 .build();
     }
 }
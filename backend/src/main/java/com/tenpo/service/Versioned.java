@@ -0,0 +1,8 @@
+package com.tenpo.service;
+
+/**
+ * A response body paired with the strong ETag of the state it was read from,
+ * so controllers can return both without a second, racy version lookup.
+ */
+public record Versioned<T>(T body, String etag) {
+}
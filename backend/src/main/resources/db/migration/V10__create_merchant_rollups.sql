@@ -0,0 +1,34 @@
+-- Daily per-merchant rollups behind GET /analytics/merchants. Writes append to
+-- merchant_rollup_deltas in the same transaction as the transaction row; the rollup
+-- job folds them into merchant_daily_rollups and deletes them.
+CREATE TABLE merchant_daily_rollups (
+    bucket_date DATE NOT NULL,
+    merchant_or_business VARCHAR(255) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    total_amount BIGINT NOT NULL,
+    PRIMARY KEY (bucket_date, merchant_or_business)
+);
+
+-- Matches @SequenceGenerator(allocationSize = 50) on MerchantRollupDelta
+CREATE SEQUENCE merchant_rollup_deltas_id_seq INCREMENT BY 50;
+
+CREATE TABLE merchant_rollup_deltas (
+    delta_id BIGINT PRIMARY KEY,
+    bucket_date DATE NOT NULL,
+    merchant_or_business VARCHAR(255) NOT NULL,
+    count_delta INTEGER NOT NULL,
+    amount_delta BIGINT NOT NULL
+);
+
+CREATE TABLE rollup_watermarks (
+    rollup_name VARCHAR(64) PRIMARY KEY,
+    last_delta_id BIGINT NOT NULL,
+    refreshed_at TIMESTAMP WITH TIME ZONE
+);
+
+INSERT INTO merchant_daily_rollups (bucket_date, merchant_or_business, transaction_count, total_amount)
+SELECT CAST(transaction_date AS DATE), merchant_or_business, COUNT(*), SUM(transaction_amount)
+FROM transactions
+GROUP BY CAST(transaction_date AS DATE), merchant_or_business;
+
+INSERT INTO rollup_watermarks (rollup_name, last_delta_id, refreshed_at) VALUES ('merchants', 0, now());
@@ -0,0 +1,12 @@
+-- Maintained per-tenpista counter used to enforce tenpo.transaction.max-per-client without COUNT(*)
+ALTER TABLE tenpistas
+ADD COLUMN transaction_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE tenpistas t
+SET transaction_count = (
+    SELECT COUNT(*)
+    FROM transactions tr
+    WHERE tr.tenpista_id = t.tenpista_id);
+
+ALTER TABLE tenpistas
+ADD CONSTRAINT tenpistas_transaction_count_check CHECK (transaction_count >= 0);
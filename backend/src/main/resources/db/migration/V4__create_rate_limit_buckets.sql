@@ -0,0 +1,7 @@
+-- Shared token buckets for tenpo.rate-limit.mode=jdbc.
+-- UNLOGGED: losing buckets on a crash only resets rate limits, and it skips WAL on every request.
+CREATE UNLOGGED TABLE rate_limit_buckets (
+    bucket_key VARCHAR(255) PRIMARY KEY,
+    tokens INTEGER NOT NULL,
+    refilled_at BIGINT NOT NULL
+);
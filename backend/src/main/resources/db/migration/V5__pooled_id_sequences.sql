@@ -0,0 +1,5 @@
+-- Match the entities' @SequenceGenerator(allocationSize = 50): Hibernate (pooled-lo) reserves
+-- 50 ids per nextval instead of issuing one nextval round-trip per insert.
+ALTER SEQUENCE tenpistas_tenpista_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE transactions_transaction_id_seq INCREMENT BY 50;
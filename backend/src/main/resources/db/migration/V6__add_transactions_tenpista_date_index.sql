@@ -0,0 +1,5 @@
+-- PostgreSQL does not index FK columns. This index backs GET /tenpistas/{id}/transactions
+-- (keyset on transaction_date DESC, transaction_id DESC) and the ON DELETE RESTRICT check.
+-- CONCURRENTLY keeps writes flowing on large tables; Flyway runs this file outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_tenpista_date
+    ON transactions (tenpista_id, transaction_date DESC, transaction_id DESC);
@@ -0,0 +1,9 @@
+-- Per-table modification counters backing the ETags on read endpoints.
+CREATE TABLE resource_versions (
+    resource_name VARCHAR(64) PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO resource_versions (resource_name, version) VALUES
+    ('tenpistas', 0),
+    ('transactions', 0);
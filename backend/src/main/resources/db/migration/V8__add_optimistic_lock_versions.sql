@@ -0,0 +1,4 @@
+-- Row versions for JPA @Version optimistic locking and item-level ETags.
+-- A constant default is metadata-only on PostgreSQL 11+, so existing rows are not rewritten.
+ALTER TABLE tenpistas ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE transactions ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
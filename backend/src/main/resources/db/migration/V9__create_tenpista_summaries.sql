@@ -0,0 +1,20 @@
+-- Incrementally maintained per-tenpista aggregates behind GET /tenpistas/{id}/summary and /tenpistas/summary.
+-- The per-tenpista count is not repeated here: summaries read tenpistas.transaction_count, which also
+-- enforces the cap.
+CREATE TABLE tenpista_summaries (
+    tenpista_id INTEGER PRIMARY KEY REFERENCES tenpistas(tenpista_id) ON DELETE CASCADE,
+    total_amount BIGINT NOT NULL DEFAULT 0,
+    first_transaction_date TIMESTAMP,
+    last_transaction_date TIMESTAMP
+);
+
+INSERT INTO tenpista_summaries (tenpista_id, total_amount, first_transaction_date, last_transaction_date)
+SELECT p.tenpista_id,
+       COALESCE(SUM(t.transaction_amount), 0),
+       MIN(t.transaction_date),
+       MAX(t.transaction_date)
+FROM tenpistas p
+LEFT JOIN transactions t ON t.tenpista_id = p.tenpista_id
+GROUP BY p.tenpista_id;
+
+CREATE INDEX idx_tenpista_summaries_total ON tenpista_summaries (total_amount DESC, tenpista_id);
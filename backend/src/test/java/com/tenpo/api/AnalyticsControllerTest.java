@@ -0,0 +1,78 @@
+package com.tenpo.api;
+
+import com.tenpo.api.dto.MerchantBucketDTO;
+import com.tenpo.api.dto.MerchantVolumeDTO;
+import com.tenpo.service.MerchantAnalyticsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AnalyticsController.class)
+class AnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MerchantAnalyticsService merchantAnalyticsService;
+
+    @Test
+    @DisplayName("Should return top merchants per bucket")
+    void shouldReturnTopMerchantsPerBucket() throws Exception {
+        // Arrange
+        LocalDate from = LocalDate.of(2024, 4, 29);
+        LocalDate to = LocalDate.of(2024, 5, 5);
+        when(merchantAnalyticsService.getTopMerchants(from, to, "week", 5)).thenReturn(List.of(
+                new MerchantBucketDTO(from, List.of(new MerchantVolumeDTO("Starbucks", 2L, 400L)))));
+
+        // Act & Assert
+        mockMvc.perform(get("/analytics/merchants")
+                .param("from", "2024-04-29")
+                .param("to", "2024-05-05")
+                .param("bucket", "week")
+                .param("top", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].bucket", is("2024-04-29")))
+                .andExpect(jsonPath("$[0].merchants[0].merchant", is("Starbucks")))
+                .andExpect(jsonPath("$[0].merchants[0].transaction_count", is(2)))
+                .andExpect(jsonPath("$[0].merchants[0].total_amount", is(400)));
+    }
+
+    @Test
+    @DisplayName("Should default to daily buckets and return 400 for an invalid bucket")
+    void shouldReturnBadRequestForInvalidBucket() throws Exception {
+        // Arrange
+        when(merchantAnalyticsService.getTopMerchants(isNull(), isNull(), anyString(), anyInt()))
+                .thenThrow(new IllegalArgumentException("Bucket must be 'day' or 'week'"));
+
+        // Act & Assert
+        mockMvc.perform(get("/analytics/merchants").param("bucket", "month"))
+                .andExpect(status().isBadRequest());
+        verify(merchantAnalyticsService).getTopMerchants(null, null, "month", 10);
+    }
+
+    @Test
+    @DisplayName("Should rebuild merchant rollups")
+    void shouldRebuildMerchantRollups() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/analytics/merchants/rebuild"))
+                .andExpect(status().isNoContent());
+        verify(merchantAnalyticsService).rebuild();
+    }
+}
@@ -24,6 +24,9 @@ class CorsConfigTest {
     @MockitoBean
     private com.tenpo.service.TenpistaService tenpistaService;
 
+    @MockitoBean
+    private com.tenpo.service.ResourceVersionService resourceVersionService;
+
     @MockitoBean
     private com.tenpo.service.TransactionService transactionService;
 
@@ -1,9 +1,15 @@
 package com.tenpo.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tenpo.api.dto.CursorPageDTO;
 import com.tenpo.api.dto.TenpistaRequestDTO;
 import com.tenpo.api.dto.TenpistaResponseDTO;
+import com.tenpo.api.dto.TenpistaSummaryDTO;
+import com.tenpo.api.dto.TransactionResponseDTO;
+import com.tenpo.exception.PreconditionFailedException;
+import com.tenpo.service.ResourceVersionService;
 import com.tenpo.service.TenpistaService;
+import com.tenpo.service.Versioned;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,12 +18,14 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -34,6 +42,9 @@ class TenpistaControllerTest {
     @MockitoBean
     private TenpistaService tenpistaService;
 
+    @MockitoBean
+    private ResourceVersionService resourceVersionService;
+
     @Test
     @DisplayName("Should create tenpista when request is valid")
     void shouldCreateTenpistaWhenRequestIsValid() throws Exception {
@@ -92,6 +103,66 @@ class TenpistaControllerTest {
         verify(tenpistaService, times(1)).getAllTenpistas();
     }
 
+    @Test
+    @DisplayName("Should return ETag and revalidation headers on tenpista list")
+    void shouldReturnEtagOnTenpistaList() throws Exception {
+        // Arrange
+        when(resourceVersionService.etag("tenpistas")).thenReturn("\"3\"");
+        when(tenpistaService.getAllTenpistas()).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/tenpistas"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().string("Cache-Control", "no-cache"));
+    }
+
+    @Test
+    @DisplayName("Should return 304 without querying tenpistas when ETag matches")
+    void shouldReturn304WhenEtagMatches() throws Exception {
+        // Arrange
+        when(resourceVersionService.etag("tenpistas")).thenReturn("\"3\"");
+
+        // Act & Assert
+        mockMvc.perform(get("/tenpistas").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(tenpistaService, never()).getAllTenpistas();
+    }
+
+    @Test
+    @DisplayName("Should return the summary of one tenpista")
+    void shouldReturnTenpistaSummary() throws Exception {
+        // Arrange
+        LocalDateTime date = LocalDateTime.of(2024, 5, 1, 12, 0);
+        when(tenpistaService.getTenpistaSummary(1))
+                .thenReturn(new TenpistaSummaryDTO(1, "John Doe", 3, 4500L, date.minusDays(2), date));
+
+        // Act & Assert
+        mockMvc.perform(get("/tenpistas/1/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tenpista_name", is("John Doe")))
+                .andExpect(jsonPath("$.transaction_count", is(3)))
+                .andExpect(jsonPath("$.total_amount", is(4500)));
+    }
+
+    @Test
+    @DisplayName("Should route /tenpistas/summary to the top-N listing")
+    void shouldReturnTopSummaries() throws Exception {
+        // Arrange
+        when(tenpistaService.getTenpistaSummaries(5))
+                .thenReturn(List.of(new TenpistaSummaryDTO(2, "Jane Doe", 1, 900L, null, null)));
+
+        // Act & Assert
+        mockMvc.perform(get("/tenpistas/summary").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].tenpista_id", is(2)));
+
+        verify(tenpistaService, never()).getTenpistaById(any());
+    }
+
     @Test
     @DisplayName("Should return tenpista when id exists")
     void shouldReturnTenpistaWhenIdExists() throws Exception {
@@ -134,16 +205,18 @@ class TenpistaControllerTest {
         TenpistaRequestDTO request = new TenpistaRequestDTO("Updated Name", "12345678-k");
         TenpistaResponseDTO response = new TenpistaResponseDTO(tenpistaId, "Updated Name", "12345678-k");
 
-        when(tenpistaService.updateTenpista(eq(tenpistaId), any(TenpistaRequestDTO.class))).thenReturn(response);
+        when(tenpistaService.updateTenpista(eq(tenpistaId), any(TenpistaRequestDTO.class), isNull()))
+                .thenReturn(new Versioned<>(response, "\"2\""));
 
         // Act & Assert
         mockMvc.perform(put("/tenpistas/{id}", tenpistaId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
                 .andExpect(jsonPath("$.name", is("Updated Name")));
 
-        verify(tenpistaService, times(1)).updateTenpista(eq(tenpistaId), any(TenpistaRequestDTO.class));
+        verify(tenpistaService, times(1)).updateTenpista(eq(tenpistaId), any(TenpistaRequestDTO.class), isNull());
     }
 
     @Test
@@ -159,4 +232,42 @@ class TenpistaControllerTest {
 
         verify(tenpistaService, times(1)).deleteTenpista(tenpistaId);
     }
+
+    @Test
+    @DisplayName("Should return a page of tenpista transactions for a date range")
+    void shouldReturnTenpistaTransactionsPage() throws Exception {
+        // Arrange
+        LocalDateTime date = LocalDateTime.of(2024, 5, 1, 12, 0);
+        CursorPageDTO<TransactionResponseDTO> page = new CursorPageDTO<>(
+                List.of(new TransactionResponseDTO(7, 1000, "Store", date, 1, "John Doe")), "abc");
+        when(tenpistaService.getTenpistaTransactions(eq(1), eq(date.minusDays(1)), eq(date.plusDays(1)), eq(20),
+                isNull())).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/tenpistas/1/transactions")
+                .param("from", "2024-04-30T12:00:00")
+                .param("to", "2024-05-02T12:00:00")
+                .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(7)))
+                .andExpect(jsonPath("$.next_cursor", is("abc")));
+    }
+
+    @Test
+    @DisplayName("Should return 412 when If-Match does not match the current version")
+    void shouldReturn412WhenIfMatchIsStale() throws Exception {
+        // Arrange
+        TenpistaRequestDTO request = new TenpistaRequestDTO("Updated Name", "12345678-k");
+        when(tenpistaService.updateTenpista(eq(1), any(TenpistaRequestDTO.class), eq("\"1\"")))
+                .thenThrow(new PreconditionFailedException("Tenpista was modified since it was read"));
+
+        // Act & Assert
+        mockMvc.perform(put("/tenpistas/{id}", 1)
+                .header("If-Match", "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.title", is("Precondition Failed")));
+    }
 }
@@ -1,11 +1,17 @@
 package com.tenpo.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tenpo.api.dto.CursorPageDTO;
+import com.tenpo.api.dto.TransactionBatchItemResultDTO;
+import com.tenpo.api.dto.TransactionBatchResponseDTO;
 import com.tenpo.api.dto.TransactionRequestDTO;
 import com.tenpo.api.dto.TransactionResponseDTO;
+import com.tenpo.service.ResourceVersionService;
 import com.tenpo.service.TransactionService;
+import com.tenpo.service.Versioned;
 import com.tenpo.config.WebConfig;
 import com.tenpo.config.ContentCachingFilter;
+import com.tenpo.config.RequestSizeLimitFilter;
 import com.tenpo.interceptor.RateLimitInterceptor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,25 +19,32 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TransactionController.class)
-@Import({ RateLimitInterceptor.class, WebConfig.class, ContentCachingFilter.class })
+@Import({ RateLimitInterceptor.class, WebConfig.class, ContentCachingFilter.class, RequestSizeLimitFilter.class })
 class TransactionControllerTest {
 
         @Autowired
@@ -46,15 +59,21 @@ class TransactionControllerTest {
         @Autowired
         private ContentCachingFilter contentCachingFilter;
 
+        @Autowired
+        private RequestSizeLimitFilter requestSizeLimitFilter;
+
         @MockitoBean
         private TransactionService transactionService;
 
+        @MockitoBean
+        private ResourceVersionService resourceVersionService;
+
         @BeforeEach
         void setUp() {
-                // Rebuild MockMvc with the ContentCachingFilter applied
-                // This ensures the filter runs before the RateLimitInterceptor
+                // Rebuild MockMvc with the body filters applied, size limit first
+                // This ensures the filters run before the RateLimitInterceptor
                 mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
-                                .addFilters(contentCachingFilter)
+                                .addFilters(requestSizeLimitFilter, contentCachingFilter)
                                 .build();
         }
 
@@ -99,24 +118,148 @@ class TransactionControllerTest {
         }
 
         @Test
-        @DisplayName("Should return all transactions")
-        void shouldReturnAllTransactions() throws Exception {
+        @DisplayName("Should return 413 ProblemDetail when the body exceeds the limit")
+        void shouldReturn413WhenBodyIsTooLarge() throws Exception {
+                // Arrange: over the 64KB default limit
+                String merchant = "x".repeat(70_000);
+                TransactionRequestDTO request = new TransactionRequestDTO(100, merchant, LocalDateTime.now(), 1);
+
+                // Act & Assert
+                mockMvc.perform(post("/transactions")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isPayloadTooLarge())
+                                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                                .andExpect(jsonPath("$.title", is("Payload Too Large")));
+
+                verify(transactionService, never()).createTransaction(any());
+        }
+
+        @Test
+        @DisplayName("Should create batch from JSON array without rate limiting")
+        void shouldCreateBatchFromJsonArray() throws Exception {
+                // Arrange
+                LocalDateTime now = LocalDateTime.now();
+                List<TransactionRequestDTO> requests = Collections.nCopies(5,
+                                new TransactionRequestDTO(100, "Starbucks", now, 10));
+                TransactionResponseDTO created = new TransactionResponseDTO(1, 100, "Starbucks", now, 10, "T");
+                TransactionBatchResponseDTO response = new TransactionBatchResponseDTO(5, 0, List.of(
+                                new TransactionBatchItemResultDTO(0, created, null)));
+
+                when(transactionService.createTransactions(any())).thenReturn(response);
+
+                // Act & Assert: five items for one tenpista in a single call are not limited to 3/min
+                mockMvc.perform(post("/transactions/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(requests)))
+                                .andExpect(status().isCreated())
+                                .andExpect(jsonPath("$.created", is(5)))
+                                .andExpect(jsonPath("$.results[0].transaction.merchant_or_business", is("Starbucks")));
+        }
+
+        @Test
+        @DisplayName("Should create batch from NDJSON and return 207 on partial failure")
+        @SuppressWarnings("unchecked")
+        void shouldCreateBatchFromNdjson() throws Exception {
+                // Arrange
+                String body = "{\"amount\":100,\"merchant_or_business\":\"A\",\"date\":\"2024-01-01T10:00:00\",\"tenpista_id\":1}\n"
+                                + "{\"amount\":200,\"merchant_or_business\":\"B\",\"date\":\"2024-01-01T11:00:00\",\"tenpista_id\":2}\n";
+                TransactionBatchResponseDTO response = new TransactionBatchResponseDTO(1, 1, List.of(
+                                new TransactionBatchItemResultDTO(0, null, null),
+                                new TransactionBatchItemResultDTO(1, null, "Tenpista not found")));
+
+                when(transactionService.createTransactions(any())).thenAnswer(invocation -> {
+                        List<TransactionRequestDTO> requests = invocation.getArgument(0);
+                        assertThat(requests).extracting(TransactionRequestDTO::merchantOrBusiness)
+                                        .containsExactly("A", "B");
+                        return response;
+                });
+
+                // Act & Assert
+                mockMvc.perform(post("/transactions/batch")
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .content(body))
+                                .andExpect(status().isMultiStatus())
+                                .andExpect(jsonPath("$.failed", is(1)))
+                                .andExpect(jsonPath("$.results[1].error", is("Tenpista not found")));
+        }
+
+        @Test
+        @DisplayName("Should return first page of transactions with next cursor")
+        void shouldReturnFirstPageOfTransactions() throws Exception {
                 // Arrange
                 LocalDateTime now = LocalDateTime.now();
                 List<TransactionResponseDTO> transactions = List.of(
                                 new TransactionResponseDTO(1, 100, "Starbucks", now, 1, "Tenpista 1"),
                                 new TransactionResponseDTO(2, 200, "Amazon", now, 1, "Tenpista 1"));
 
-                when(transactionService.getAllTransactions()).thenReturn(transactions);
+                when(transactionService.getTransactions(null, 2, Sort.Direction.ASC))
+                                .thenReturn(new CursorPageDTO<>(transactions, "2"));
 
                 // Act & Assert
-                mockMvc.perform(get("/transactions"))
+                mockMvc.perform(get("/transactions").param("limit", "2"))
                                 .andExpect(status().isOk())
-                                .andExpect(jsonPath("$", hasSize(2)))
-                                .andExpect(jsonPath("$[0].merchant_or_business", is("Starbucks")))
-                                .andExpect(jsonPath("$[1].merchant_or_business", is("Amazon")));
+                                .andExpect(jsonPath("$.items", hasSize(2)))
+                                .andExpect(jsonPath("$.items[0].merchant_or_business", is("Starbucks")))
+                                .andExpect(jsonPath("$.items[1].merchant_or_business", is("Amazon")))
+                                .andExpect(jsonPath("$.next_cursor", is("2")));
 
-                verify(transactionService, times(1)).getAllTransactions();
+                verify(transactionService, times(1)).getTransactions(null, 2, Sort.Direction.ASC);
+        }
+
+        @Test
+        @DisplayName("Should pass cursor and sort direction to service")
+        void shouldPassCursorAndSortToService() throws Exception {
+                // Arrange
+                when(transactionService.getTransactions(40, 50, Sort.Direction.DESC))
+                                .thenReturn(new CursorPageDTO<>(List.of(), null));
+
+                // Act & Assert
+                mockMvc.perform(get("/transactions").param("after", "40").param("sort", "desc"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items", hasSize(0)))
+                                .andExpect(jsonPath("$.next_cursor").doesNotExist());
+
+                verify(transactionService, times(1)).getTransactions(40, 50, Sort.Direction.DESC);
+        }
+
+        @Test
+        @DisplayName("Should stream transactions as NDJSON")
+        @SuppressWarnings("unchecked")
+        void shouldStreamTransactionsAsNdjson() throws Exception {
+                // Arrange
+                LocalDateTime date = LocalDateTime.of(2024, 1, 1, 10, 0);
+                doAnswer(invocation -> {
+                        Consumer<TransactionResponseDTO> consumer = invocation.getArgument(0);
+                        consumer.accept(new TransactionResponseDTO(1, 100, "Starbucks", date, 1, "Tenpista 1"));
+                        consumer.accept(new TransactionResponseDTO(2, 200, "Amazon", date, 1, "Tenpista 1"));
+                        return null;
+                }).when(transactionService).exportTransactions(any(Consumer.class));
+
+                // Act
+                MvcResult result = mockMvc.perform(get("/transactions/export").param("format", "ndjson"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // Assert
+                String body = mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                                .andReturn().getResponse().getContentAsString();
+                String[] lines = body.split("\n");
+                assertThat(lines).hasSize(2);
+                assertThat(lines[0]).contains("\"merchant_or_business\":\"Starbucks\"");
+                assertThat(lines[1]).contains("\"merchant_or_business\":\"Amazon\"");
+        }
+
+        @Test
+        @DisplayName("Should return 400 for unsupported export format")
+        void shouldReturn400ForUnsupportedExportFormat() throws Exception {
+                mockMvc.perform(get("/transactions/export").param("format", "xml"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.detail", is("Unsupported export format: xml")));
+
+                verify(transactionService, never()).exportTransactions(any());
         }
 
         @Test
@@ -166,8 +309,8 @@ class TransactionControllerTest {
                 TransactionResponseDTO response = new TransactionResponseDTO(transactionId, 150, "Updated Shop", now, 1,
                                 "Tenpista 1");
 
-                when(transactionService.updateTransaction(eq(transactionId), any(TransactionRequestDTO.class)))
-                                .thenReturn(response);
+                when(transactionService.updateTransaction(eq(transactionId), any(TransactionRequestDTO.class), isNull()))
+                                .thenReturn(new Versioned<>(response, "\"1-0\""));
 
                 // Act & Assert
                 mockMvc.perform(put("/transactions/{id}", transactionId)
@@ -178,7 +321,7 @@ class TransactionControllerTest {
                                 .andExpect(jsonPath("$.amount", is(150)));
 
                 verify(transactionService, times(1)).updateTransaction(eq(transactionId),
-                                any(TransactionRequestDTO.class));
+                                any(TransactionRequestDTO.class), isNull());
         }
 
         @Test
@@ -225,4 +368,36 @@ class TransactionControllerTest {
 
                 verify(transactionService, times(1)).deleteTransaction(transactionId);
         }
+
+        @Test
+        @DisplayName("Should return 304 for a transaction when its ETag is unchanged")
+        void shouldReturn304ForTransactionWhenEtagMatches() throws Exception {
+                // Arrange
+                when(transactionService.getTransactionEtag(1)).thenReturn("\"3-7\"");
+
+                // Act & Assert
+                mockMvc.perform(get("/transactions/1").header("If-None-Match", "\"3-7\""))
+                                .andExpect(status().isNotModified());
+                mockMvc.perform(get("/transactions/1").header("If-None-Match", "\"3-6\""))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", "\"3-7\""));
+
+                verify(transactionService, times(1)).getTransactionById(1);
+        }
+
+        @Test
+        @DisplayName("Should return 409 when a concurrent update wins the version check")
+        void shouldReturn409OnOptimisticLockFailure() throws Exception {
+                // Arrange
+                TransactionRequestDTO request = new TransactionRequestDTO(150, "Shop", LocalDateTime.now(), 1);
+                when(transactionService.updateTransaction(eq(1), any(TransactionRequestDTO.class), isNull()))
+                                .thenThrow(new ObjectOptimisticLockingFailureException("Transaction", 1));
+
+                // Act & Assert
+                mockMvc.perform(put("/transactions/{id}", 1)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isConflict())
+                                .andExpect(jsonPath("$.title", is("Concurrent Modification")));
+        }
 }
@@ -0,0 +1,57 @@
+package com.tenpo.config;
+
+import jakarta.servlet.ReadListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CachedBodyHttpServletRequest Tests")
+class CachedBodyHttpServletRequestTest {
+
+    private static final byte[] BODY = "{\"tenpistaId\":1,\"amount\":100}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    @DisplayName("Should serve the same body to every reader")
+    void shouldReplayBody() throws IOException {
+        // Arrange
+        CachedBodyHttpServletRequest request = new CachedBodyHttpServletRequest(request(BODY));
+
+        // Act
+        byte[] first = request.getInputStream().readAllBytes();
+        byte[] chunk = new byte[BODY.length + 8];
+        int read = request.getInputStream().read(chunk, 0, chunk.length);
+
+        // Assert
+        assertThat(first).isEqualTo(BODY);
+        assertThat(read).isEqualTo(BODY.length);
+        assertThat(request.getReader().readLine()).isEqualTo(new String(BODY, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should report the whole body to a read listener at once")
+    void shouldNotifyReadListener() throws IOException {
+        // Arrange
+        CachedBodyHttpServletRequest request = new CachedBodyHttpServletRequest(request(BODY));
+        ReadListener listener = mock(ReadListener.class);
+
+        // Act
+        request.getInputStream().setReadListener(listener);
+
+        // Assert
+        verify(listener).onDataAvailable();
+        verify(listener).onAllDataRead();
+        verify(listener, never()).onError(any());
+    }
+
+    private static MockHttpServletRequest request(byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/transactions");
+        request.setContent(body);
+        return request;
+    }
+}
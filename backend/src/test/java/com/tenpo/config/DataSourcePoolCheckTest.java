@@ -0,0 +1,39 @@
+package com.tenpo.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DataSourcePoolCheck Tests")
+class DataSourcePoolCheckTest {
+
+    @Test
+    @DisplayName("Should accept a gate sized to the pool regardless of the thread model")
+    void shouldAcceptGateSizedToPool() {
+        // Act & Assert
+        assertThat(DataSourcePoolCheck.check(10, 10, true, 200)).isEmpty();
+        assertThat(DataSourcePoolCheck.check(10, 10, false, 200)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should flag a gate with more permits than connections")
+    void shouldFlagGateLargerThanPool() {
+        // Act
+        var problems = DataSourcePoolCheck.check(10, 20, true, 200);
+
+        // Assert
+        assertThat(problems).singleElement().asString().contains("tenpo.db-gate.permits (20)");
+    }
+
+    @Test
+    @DisplayName("Should flag unbounded request concurrency when the gate is off")
+    void shouldFlagMissingGate() {
+        // Act & Assert
+        assertThat(DataSourcePoolCheck.check(10, 0, true, 200)).singleElement().asString()
+                .contains("virtual threads");
+        assertThat(DataSourcePoolCheck.check(10, 0, false, 200)).singleElement().asString()
+                .contains("up to 190 request threads");
+        assertThat(DataSourcePoolCheck.check(10, 0, false, 8)).isEmpty();
+    }
+}
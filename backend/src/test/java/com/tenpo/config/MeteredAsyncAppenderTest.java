@@ -0,0 +1,129 @@
+package com.tenpo.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MeteredAsyncAppender Tests")
+class MeteredAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final CountDownLatch writing = new CountDownLatch(1);
+    private final CountDownLatch diskStall = new CountDownLatch(1);
+    private MeteredAsyncAppender appender;
+
+    @AfterEach
+    void tearDown() {
+        diskStall.countDown();
+        appender.stop();
+    }
+
+    @Test
+    @DisplayName("Should drop and count events that arrive at a full queue instead of blocking")
+    void shouldCountDropsWhenFull() throws InterruptedException {
+        // Arrange: the writer is stuck on the first event and two more fill the queue
+        start(2, 0);
+        append(Level.WARN);
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        append(Level.WARN);
+        append(Level.WARN);
+
+        // Act
+        append(Level.ERROR);
+        append(Level.INFO);
+
+        // Assert
+        assertThat(appender.getNumberOfElementsInQueue()).isEqualTo(2);
+        assertThat(appender.getDroppedCount()).isEqualTo(2);
+        assertThat(appender.getDiscardedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count every drop when threads race to fill the queue")
+    void shouldCountEveryDropUnderContention() throws InterruptedException {
+        // Arrange: the writer is stuck on the first event, leaving 8 free slots
+        start(8, 0);
+        append(Level.WARN);
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        append(Level.WARN);
+                    }
+                });
+            }
+        }
+
+        // Assert: each of the 800 events was either queued or counted as dropped
+        assertThat(appender.getNumberOfElementsInQueue()).isEqualTo(8);
+        assertThat(appender.getDroppedCount()).isEqualTo(800 - 8);
+    }
+
+    @Test
+    @DisplayName("Should shed INFO but keep WARN once the queue crosses the discarding threshold")
+    void shouldDiscardLowLevelsBelowThreshold() throws InterruptedException {
+        // Arrange: 4 slots, INFO is shed once fewer than 2 remain
+        start(4, 2);
+        append(Level.INFO);
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        append(Level.INFO);
+        append(Level.INFO);
+        append(Level.INFO);
+
+        // Act
+        append(Level.INFO);
+        append(Level.WARN);
+
+        // Assert
+        assertThat(appender.getDiscardedCount()).isEqualTo(1);
+        assertThat(appender.getDroppedCount()).isZero();
+        assertThat(appender.getNumberOfElementsInQueue()).isEqualTo(4);
+    }
+
+    private void start(int queueSize, int discardingThreshold) {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        AppenderBase<ILoggingEvent> stalledDisk = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                writing.countDown();
+                try {
+                    diskStall.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        stalledDisk.setContext(context);
+        stalledDisk.start();
+
+        appender = new MeteredAsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(queueSize);
+        appender.setDiscardingThreshold(discardingThreshold);
+        appender.setNeverBlock(true);
+        appender.setMaxFlushTime(100);
+        appender.addAppender(stalledDisk);
+        appender.start();
+    }
+
+    private void append(Level level) {
+        appender.doAppend(new LoggingEvent(getClass().getName(), context.getLogger("test"), level, "message",
+                null, null));
+    }
+}
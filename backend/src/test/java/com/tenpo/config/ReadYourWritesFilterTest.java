@@ -0,0 +1,69 @@
+package com.tenpo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReadYourWritesFilter Tests")
+class ReadYourWritesFilterTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5),
+            Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+
+    @Test
+    @DisplayName("Should pin a write to the primary and hand out the stickiness cookie")
+    void shouldPinWrites() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean pinned = new AtomicBoolean();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/transactions"), response, pinnedInto(pinned));
+
+        // Assert
+        assertThat(pinned).isTrue();
+        assertThat(ReadYourWrites.isPinned()).isFalse();
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE))
+                .startsWith(ReadYourWritesFilter.COOKIE + "=" + (NOW + 5000))
+                .contains("Max-Age=5");
+    }
+
+    @Test
+    @DisplayName("Should pin reads only while the cookie's window is open")
+    void shouldPinReadsWithinWindow() throws Exception {
+        // Act & Assert
+        assertThat(pinnedFor(null)).isFalse();
+        assertThat(pinnedFor(Long.toString(NOW + 1000))).isTrue();
+        assertThat(pinnedFor(Long.toString(NOW - 1))).isFalse();
+        assertThat(pinnedFor(Long.toString(NOW + 60_000))).isFalse();
+        assertThat(pinnedFor("not-a-time")).isFalse();
+    }
+
+    private boolean pinnedFor(String cookie) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tenpistas/1");
+        if (cookie != null) {
+            request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, cookie));
+        }
+        AtomicBoolean pinned = new AtomicBoolean();
+        filter.doFilter(request, new MockHttpServletResponse(), pinnedInto(pinned));
+        return pinned.get();
+    }
+
+    private static FilterChain pinnedInto(AtomicBoolean pinned) {
+        return (request, response) -> pinned.set(ReadYourWrites.isPinned());
+    }
+}
@@ -0,0 +1,179 @@
+package com.tenpo.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate replicaJdbc;
+    private ReplicaLagMonitor lagMonitor;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        // Two embedded databases that only differ in what they say they are
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        replicaJdbc.update("INSERT INTO replica_lag VALUES (0)");
+
+        lagMonitor = new ReplicaLagMonitor(replica, "SELECT seconds FROM replica_lag", Duration.ofSeconds(5),
+                Duration.ofMinutes(1), Clock.systemUTC());
+        routing = new ReplicaRoutingDataSource(primary, replica, lagMonitor, () -> { });
+        jdbc = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+        new JdbcTemplate(routing.getPrimary()).execute("DROP ALL OBJECTS");
+        replicaJdbc.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Should read from the replica in read-only transactions and write to the primary otherwise")
+    void shouldRouteByReadOnlyFlag() {
+        // Arrange
+        lagMonitor.check();
+
+        // Act & Assert
+        assertThat(origin(readOnly)).isEqualTo("replica");
+        assertThat(origin(readWrite)).isEqualTo("primary");
+        assertThat(routing.getReplicaReads()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica lags or cannot be checked")
+    void shouldFallBackOnLag() {
+        // Arrange
+        replicaJdbc.update("UPDATE replica_lag SET seconds = 30");
+        lagMonitor.check();
+
+        // Act & Assert
+        assertThat(origin(readOnly)).isEqualTo("primary");
+
+        replicaJdbc.update("UPDATE replica_lag SET seconds = 0.5");
+        lagMonitor.check();
+        assertThat(origin(readOnly)).isEqualTo("replica");
+
+        replicaJdbc.execute("DROP TABLE replica_lag");
+        lagMonitor.check();
+        assertThat(origin(readOnly)).isEqualTo("primary");
+        assertThat(lagMonitor.isReachable()).isFalse();
+        assertThat(routing.getLaggingReads()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep a pinned request's reads on the primary")
+    void shouldReadYourWrites() {
+        // Arrange
+        lagMonitor.check();
+        ReadYourWrites.pin();
+
+        // Act & Assert
+        assertThat(origin(readOnly)).isEqualTo("primary");
+        assertThat(routing.getPinnedReads()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should route each JPA transaction of a request by its own read-only flag")
+    void shouldRouteJpaTransactionsSeparately() {
+        // Arrange: the production transaction manager, with open-in-view off as ReplicaConfig requires
+        lagMonitor.check();
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(routing);
+        factoryBean.setPackagesToScan("com.tenpo.model");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        TransactionTemplate jpaReadOnly = new TransactionTemplate(transactionManager);
+        jpaReadOnly.setReadOnly(true);
+        TransactionTemplate jpaReadWrite = new TransactionTemplate(transactionManager);
+
+        try {
+            // Act & Assert: a read-write transaction between two reads, as a cache miss after an ETag check
+            assertThat(jpaOrigin(jpaReadOnly, entityManagerFactory)).isEqualTo("replica");
+            assertThat(jpaOrigin(jpaReadWrite, entityManagerFactory)).isEqualTo("primary");
+            assertThat(jpaOrigin(jpaReadOnly, entityManagerFactory)).isEqualTo("replica");
+        } finally {
+            factoryBean.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse replica routing while open-in-view is on")
+    void shouldRequireOpenInViewOff() {
+        // Act & Assert: unset means Boot's default, which is on
+        assertThatThrownBy(() -> new ReplicaConfig(new MockEnvironment()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("spring.jpa.open-in-view=false");
+        new ReplicaConfig(new MockEnvironment().withProperty("spring.jpa.open-in-view", "false"));
+    }
+
+    @Test
+    @DisplayName("Should close the replica pool and lag monitor on shutdown")
+    void shouldCloseReplicaOnShutdown() throws Exception {
+        // Arrange
+        AtomicBoolean poolClosed = new AtomicBoolean();
+        ReplicaRoutingDataSource closable = new ReplicaRoutingDataSource(routing.getPrimary(), routing.getReplica(),
+                lagMonitor, () -> poolClosed.set(true));
+        ReplicaConfig config = new ReplicaConfig(new MockEnvironment().withProperty("spring.jpa.open-in-view", "false"));
+
+        // Act
+        config.replicaShutdown(closable).destroy();
+
+        // Assert
+        assertThat(poolClosed).isTrue();
+    }
+
+    private String jpaOrigin(TransactionTemplate transaction, EntityManagerFactory entityManagerFactory) {
+        return transaction.execute(status -> {
+            EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+            return (String) entityManager.createNativeQuery("SELECT name FROM origin").getSingleResult();
+        });
+    }
+
+    private String origin(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbc.queryForObject("SELECT name FROM origin", String.class));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE origin (name VARCHAR(16))");
+        jdbc.update("INSERT INTO origin VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,134 @@
+package com.tenpo.config;
+
+import com.tenpo.exception.PayloadTooLargeException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RequestSizeLimitFilter Tests")
+class RequestSizeLimitFilterTest {
+
+    private HandlerExceptionResolver resolver;
+    private RequestSizeLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        resolver = mock(HandlerExceptionResolver.class);
+        when(resolver.resolveException(any(), any(), isNull(), any())).thenReturn(new ModelAndView());
+        filter = new RequestSizeLimitFilter(new RequestBodyProperties(DataSize.ofBytes(16),
+                Map.of("/transactions/**", DataSize.ofBytes(32), "/transactions/batch", DataSize.ofBytes(64))),
+                resolver);
+    }
+
+    @Test
+    @DisplayName("Should reject a declared Content-Length over the limit without reading the body")
+    void shouldRejectOnContentLength() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = spy(request("/tenpistas", null));
+        request.setContent(new byte[17]);
+        FilterChain chain = mock(FilterChain.class);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        verify(request, never()).getInputStream();
+        verifyNoInteractions(chain);
+        verify(resolver).resolveException(any(), any(), isNull(), any(PayloadTooLargeException.class));
+    }
+
+    @Test
+    @DisplayName("Should count a chunked body while it streams and stop one byte past the limit")
+    void shouldRejectChunkedBodyWhileStreaming() throws Exception {
+        // Arrange: no Content-Length, as with Transfer-Encoding: chunked
+        ByteArrayInputStream body = new ByteArrayInputStream(new byte[1024]);
+        MockHttpServletRequest request = request("/tenpistas", body);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletRequest) req).getInputStream().readAllBytes());
+
+        // Assert
+        assertThat(body.available()).isEqualTo(1024 - 17);
+        verify(resolver).resolveException(any(), any(), isNull(), any(PayloadTooLargeException.class));
+    }
+
+    @Test
+    @DisplayName("Should apply the most specific route limit")
+    void shouldApplyMostSpecificRoute() throws Exception {
+        // Arrange
+        MockHttpServletRequest batch = request("/transactions/batch", null);
+        batch.setContent(new byte[64]);
+        MockHttpServletRequest single = request("/transactions/1", null);
+        single.setContent(new byte[33]);
+
+        // Act
+        filter.doFilter(batch, new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletRequest) req).getInputStream().readAllBytes());
+        filter.doFilter(single, new MockHttpServletResponse(), mock(FilterChain.class));
+
+        // Assert
+        verify(resolver).resolveException(eq(single), any(), isNull(), any(PayloadTooLargeException.class));
+        verify(resolver, never()).resolveException(eq(batch), any(), any(), any());
+    }
+
+    private static MockHttpServletRequest request(String path, ByteArrayInputStream body) {
+        return new MockHttpServletRequest("POST", path) {
+            @Override
+            public ServletInputStream getInputStream() {
+                return body != null ? new StreamOf(body) : super.getInputStream();
+            }
+        };
+    }
+
+    private static class StreamOf extends ServletInputStream {
+
+        private final ByteArrayInputStream in;
+
+        StreamOf(ByteArrayInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return in.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read() {
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return in.read(b, off, len);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.tenpo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ServiceTimingPostProcessor Tests")
+class ServiceTimingPostProcessorTest {
+
+    private SimpleMeterRegistry registry;
+    private ServiceTimingPostProcessor postProcessor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        postProcessor = new ServiceTimingPostProcessor(
+                new StaticListableBeanFactory(Map.of("registry", registry)).getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    @DisplayName("Should time service methods tagged by class, method and exception")
+    void shouldTimeServiceMethods() {
+        // Arrange
+        GreetingService service = (GreetingService) postProcessor.postProcessAfterInitialization(
+                new GreetingService(), "greetingService");
+
+        // Act
+        service.greet("Ana");
+        assertThatThrownBy(() -> service.greet(null)).isInstanceOf(IllegalArgumentException.class);
+
+        // Assert
+        assertThat(registry.get("tenpo.service.invocations")
+                .tags("class", "GreetingService", "method", "greet", "exception", "none").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("tenpo.service.invocations")
+                .tags("method", "greet", "exception", "IllegalArgumentException").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should leave beans that are not services unproxied")
+    void shouldIgnoreNonServices() {
+        // Act
+        Object bean = postProcessor.postProcessAfterInitialization(new Object(), "plain");
+
+        // Assert
+        assertThat(AopUtils.isAopProxy(bean)).isFalse();
+    }
+
+    @Service
+    static class GreetingService {
+
+        public String greet(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("name is required");
+            }
+            return "Hello " + name;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.tenpo.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SqlTraceRecorder Tests")
+class SqlTraceRecorderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        SqlTrace.end();
+    }
+
+    @Test
+    @DisplayName("Should time statements per endpoint and operation and count them per request")
+    void shouldRecordPerEndpoint() {
+        // Arrange
+        SqlTraceRecorder recorder = new SqlTraceRecorder(registry, Runnable::run);
+        SqlTrace trace = SqlTrace.begin(false);
+        trace.add(new SqlTrace.Execution("select * from tenpistas where id=?", 2_000_000, 0, null));
+        trace.add(new SqlTrace.Execution("insert into transactions values (?)", 1_000_000, 3, null));
+
+        // Act
+        recorder.publish("POST /transactions", trace);
+
+        // Assert
+        assertThat(registry.get("tenpo.sql.statement").tags("endpoint", "POST /transactions", "operation", "select")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get("tenpo.sql.statement").tags("operation", "insert").timer().count()).isEqualTo(1);
+        assertThat(registry.get("tenpo.sql.statements").tag("endpoint", "POST /transactions")
+                .summary().totalAmount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should drop and count traces when the publish queue is full")
+    void shouldCountDroppedTraces() {
+        // Arrange
+        SqlTraceRecorder recorder = new SqlTraceRecorder(registry, runnable -> {
+            throw new RejectedExecutionException();
+        });
+
+        // Act
+        recorder.publish("GET /tenpistas", SqlTrace.begin(false));
+
+        // Assert
+        assertThat(registry.get("tenpo.sql.trace.dropped").counter().count()).isEqualTo(1);
+        assertThat(registry.find("tenpo.sql.statements").summary()).isNull();
+    }
+}
@@ -0,0 +1,94 @@
+package com.tenpo.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SqlTracingDataSource Tests")
+class SqlTracingDataSourceTest {
+
+    private static final String SQL = "insert into transactions (amount, id) values (?, ?)";
+
+    private PreparedStatement statement;
+    private SqlTracingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        statement = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(SQL)).thenReturn(statement);
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(connection);
+        dataSource = new SqlTracingDataSource(target);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlTrace.end();
+    }
+
+    @Test
+    @DisplayName("Should hand out the driver's statement when the request is not traced")
+    void shouldNotWrapUntracedStatements() throws SQLException {
+        // Act
+        PreparedStatement prepared = dataSource.getConnection().prepareStatement(SQL);
+
+        // Assert
+        assertThat(prepared).isSameAs(statement);
+    }
+
+    @Test
+    @DisplayName("Should record each execution with its batch size but no binds when sampled")
+    void shouldRecordSampledExecutions() throws SQLException {
+        // Arrange
+        SqlTrace trace = SqlTrace.begin(false);
+        PreparedStatement prepared = dataSource.getConnection().prepareStatement(SQL);
+
+        // Act
+        prepared.setInt(1, 100);
+        prepared.addBatch();
+        prepared.setInt(1, 200);
+        prepared.addBatch();
+        prepared.executeBatch();
+
+        // Assert
+        verify(statement).executeBatch();
+        assertThat(trace.getExecutions()).singleElement().satisfies(execution -> {
+            assertThat(execution.sql()).isEqualTo(SQL);
+            assertThat(execution.batchSize()).isEqualTo(2);
+            assertThat(execution.params()).isNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Should capture bind values when the request opted into full logging")
+    void shouldCaptureBindsWithFullLogging() throws SQLException {
+        // Arrange
+        SqlTrace trace = SqlTrace.begin(true);
+        PreparedStatement prepared = dataSource.getConnection().prepareStatement(SQL);
+
+        // Act
+        prepared.setInt(1, 100);
+        prepared.setNull(2, Types.INTEGER);
+        prepared.executeUpdate();
+
+        // Assert
+        Map<Integer, Object> expected = new HashMap<>();
+        expected.put(1, 100);
+        expected.put(2, null);
+        assertThat(trace.getExecutions()).singleElement()
+                .satisfies(execution -> assertThat(execution.params()).isEqualTo(expected));
+    }
+}
@@ -0,0 +1,72 @@
+package com.tenpo.interceptor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TenpistaIdBodyKeyResolver Unit Tests")
+class TenpistaIdBodyKeyResolverTest {
+
+    private static final String BODY = "{\"amount\":100,\"merchant_or_business\":\"Starbucks\","
+            + "\"date\":\"2024-01-01T10:00:00\",\"tenpista_id\":10,\"extra\":{\"nested\":[1,2,3]}}";
+
+    private final TenpistaIdBodyKeyResolver resolver = new TenpistaIdBodyKeyResolver();
+
+    @Test
+    @DisplayName("Should resolve tenpista_id from JSON body")
+    void shouldResolveTenpistaIdFromBody() {
+        assertThat(resolver.resolveKey(jsonRequest(BODY))).isEqualTo("10");
+    }
+
+    @Test
+    @DisplayName("Should skip nested objects that contain a tenpista_id field")
+    void shouldSkipNestedTenpistaId() {
+        String body = "{\"meta\":{\"tenpista_id\":99},\"tenpista_id\":7}";
+
+        assertThat(resolver.resolveKey(jsonRequest(body))).isEqualTo("7");
+    }
+
+    @Test
+    @DisplayName("Should return null when tenpista_id is missing or body is not JSON")
+    void shouldReturnNullWhenKeyIsMissing() {
+        assertThat(resolver.resolveKey(jsonRequest("{\"amount\":100}"))).isNull();
+        assertThat(resolver.resolveKey(jsonRequest("not json"))).isNull();
+        assertThat(resolver.resolveKey(jsonRequest("[1,2]"))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should resolve a repeated tenpista_id to its last occurrence, like the request binder")
+    void shouldUseLastOccurrenceOfRepeatedKey() {
+        String body = "{\"tenpista_id\":1,\"amount\":100,\"tenpista_id\":10}";
+
+        assertThat(resolver.resolveKey(jsonRequest(body))).isEqualTo("10");
+    }
+
+    @Test
+    @DisplayName("Should key every spelling of an id the binder accepts on the same canonical int")
+    void shouldCanonicalizeTenpistaId() {
+        assertThat(resolver.resolveKey(jsonRequest("{\"tenpista_id\":1.0}"))).isEqualTo("1");
+        assertThat(resolver.resolveKey(jsonRequest("{\"tenpista_id\":\"01\"}"))).isEqualTo("1");
+        assertThat(resolver.resolveKey(jsonRequest("{\"tenpista_id\":\" 1\"}"))).isEqualTo("1");
+        assertThat(resolver.resolveKey(jsonRequest("{\"tenpista_id\":1}"))).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Should return null when tenpista_id is not an int")
+    void shouldReturnNullWhenIdIsNotAnInt() {
+        assertThat(resolver.resolveKey(jsonRequest("{\"tenpista_id\":\"abc\"}"))).isNull();
+        assertThat(resolver.resolveKey(jsonRequest("{\"tenpista_id\":true}"))).isNull();
+        assertThat(resolver.resolveKey(jsonRequest("{\"tenpista_id\":99999999999}"))).isNull();
+    }
+
+    private static MockHttpServletRequest jsonRequest(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/transactions");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,178 @@
+package com.tenpo.interceptor;
+
+import com.tenpo.config.RateLimitProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TokenBucketRateLimiter Unit Tests")
+class TokenBucketRateLimiterTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and then reject")
+    void shouldAllowBurstUpToCapacityThenReject() {
+        // Arrange
+        TokenBucketRateLimiter limiter = limiter(3, 100);
+
+        // Act & Assert
+        assertThat(limiter.tryAcquire("1")).isTrue();
+        assertThat(limiter.tryAcquire("1")).isTrue();
+        assertThat(limiter.tryAcquire("1")).isTrue();
+        assertThat(limiter.tryAcquire("1")).isFalse();
+        assertThat(limiter.tryAcquire("2")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should take several permits at once or none")
+    void shouldTakeAllPermitsOrNone() {
+        // Arrange
+        TokenBucketRateLimiter limiter = limiter(3, 100);
+
+        // Act & Assert
+        assertThat(limiter.tryAcquire("1", 4)).isFalse();
+        assertThat(limiter.tryAcquire("1", 2)).isTrue();
+        assertThat(limiter.tryAcquire("1", 2)).isFalse();
+        assertThat(limiter.tryAcquire("1")).isTrue();
+        assertThat(limiter.tryAcquire("1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should refill one token per interval instead of resetting a whole window")
+    void shouldRefillOneTokenPerInterval() {
+        // Arrange
+        TokenBucketRateLimiter limiter = limiter(3, 100);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("1");
+        }
+
+        // Act
+        clock.advance(Duration.ofSeconds(20));
+
+        // Assert
+        assertThat(limiter.tryAcquire("1")).isTrue();
+        assertThat(limiter.tryAcquire("1")).isFalse();
+        assertThat(limiter.requestsPerMinute()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should evict buckets that have refilled completely")
+    void shouldEvictRefilledBuckets() {
+        // Arrange
+        TokenBucketRateLimiter limiter = limiter(3, 100);
+        limiter.tryAcquire("1");
+        limiter.tryAcquire("2");
+
+        // Act
+        clock.advance(Duration.ofMinutes(1));
+        limiter.tryAcquire("3");
+
+        // Assert
+        assertThat(limiter.trackedKeys()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep tracked keys bounded under a flood of distinct ids")
+    void shouldKeepTrackedKeysBoundedUnderFlood() {
+        // Arrange
+        TokenBucketRateLimiter limiter = limiter(3, 10);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire(String.valueOf(i));
+        }
+
+        // Assert
+        assertThat(limiter.trackedKeys()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should give new keys their own bucket after a flood fills the map")
+    void shouldNotThrottleNewKeysTogetherAfterFlood() {
+        // Arrange
+        TokenBucketRateLimiter limiter = limiter(3, 10);
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("fake-" + i);
+        }
+
+        // Act
+        boolean first = limiter.tryAcquire("real-1");
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("real-1");
+        }
+        boolean other = limiter.tryAcquire("real-2");
+
+        // Assert: neither the flood nor real-1's burst spends real-2's tokens
+        assertThat(first).isTrue();
+        assertThat(other).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should grant exactly capacity tokens under concurrent access")
+    void shouldGrantExactlyCapacityUnderConcurrency() throws Exception {
+        // Arrange
+        TokenBucketRateLimiter limiter = limiter(50, 100);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 500; i++) {
+            executor.submit(() -> {
+                start.await();
+                if (limiter.tryAcquire("hot")) {
+                    granted.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(granted.get()).isEqualTo(50);
+    }
+
+    private TokenBucketRateLimiter limiter(int capacity, int maxKeys) {
+        return new TokenBucketRateLimiter(
+                new RateLimitProperties(capacity, Duration.ofSeconds(20), maxKeys, Duration.ofSeconds(30),
+                        RateLimitProperties.Mode.LOCAL, Duration.ZERO), clock);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.tenpo.repository;
+
+import com.tenpo.model.ResourceVersion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@DisplayName("ResourceVersionRepository Integration Tests")
+class ResourceVersionRepositoryTest {
+
+    @Autowired
+    private ResourceVersionRepository resourceVersionRepository;
+
+    @Test
+    @DisplayName("Should increment only the named resource counter")
+    void shouldIncrementOnlyNamedResource() {
+        // Arrange
+        List<String> resources = List.of(ResourceVersion.TENPISTAS, ResourceVersion.TRANSACTIONS);
+        List<Long> before = resourceVersionRepository.findVersions(resources);
+
+        // Act
+        int updated = resourceVersionRepository.increment(ResourceVersion.TRANSACTIONS);
+
+        // Assert
+        List<Long> after = resourceVersionRepository.findVersions(resources);
+        assertThat(updated).isEqualTo(1);
+        assertThat(after.get(0)).isEqualTo(before.get(0));
+        assertThat(after.get(1)).isEqualTo(before.get(1) + 1);
+    }
+}
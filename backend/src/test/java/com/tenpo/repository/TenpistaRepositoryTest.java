@@ -87,4 +87,62 @@ class TenpistaRepositoryTest {
         // Assert
         assertThat(tenpistaRepository.findById(tenpista.getId())).isEmpty();
     }
+
+    @Test
+    @DisplayName("Should increment transaction count only while under the cap")
+    void shouldIncrementTransactionCountOnlyWhileUnderCap() {
+        // Arrange
+        Tenpista tenpista = entityManager.persistFlushFind(Tenpista.builder()
+                .name("Capped")
+                .rut("22.222.222-2")
+                .build());
+
+        // Act
+        int first = tenpistaRepository.incrementTransactionCount(tenpista.getId(), 2);
+        int second = tenpistaRepository.incrementTransactionCount(tenpista.getId(), 2);
+        int third = tenpistaRepository.incrementTransactionCount(tenpista.getId(), 2);
+        entityManager.clear();
+
+        // Assert
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(1);
+        assertThat(third).isZero();
+        assertThat(tenpistaRepository.findById(tenpista.getId()).orElseThrow().getTransactionCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reserve a batch of slots all or nothing")
+    void shouldReserveBatchOfSlotsAllOrNothing() {
+        // Arrange
+        Tenpista tenpista = entityManager.persistFlushFind(Tenpista.builder()
+                .name("Batch")
+                .rut("44.444.444-4")
+                .build());
+
+        // Act
+        int first = tenpistaRepository.incrementTransactionCountBy(tenpista.getId(), 3, 5);
+        int second = tenpistaRepository.incrementTransactionCountBy(tenpista.getId(), 3, 5);
+        entityManager.clear();
+
+        // Assert
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+        assertThat(tenpistaRepository.findById(tenpista.getId()).orElseThrow().getTransactionCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should not decrement transaction count below zero")
+    void shouldNotDecrementTransactionCountBelowZero() {
+        // Arrange
+        Tenpista tenpista = entityManager.persistFlushFind(Tenpista.builder()
+                .name("Empty")
+                .rut("33.333.333-3")
+                .build());
+
+        // Act
+        int updated = tenpistaRepository.decrementTransactionCount(tenpista.getId());
+
+        // Assert
+        assertThat(updated).isZero();
+    }
 }
@@ -1,16 +1,22 @@
 package com.tenpo.repository;
 
+import com.tenpo.api.dto.TransactionResponseDTO;
 import com.tenpo.model.Tenpista;
 import com.tenpo.model.Transaction;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -101,4 +107,117 @@ class TransactionRepositoryTest {
         assertThat(found.getAmount()).isEqualTo(1000);
         assertThat(found.getTenpista().getId()).isEqualTo(tenpista.getId());
     }
+
+    @Test
+    @DisplayName("Should project keyset page after cursor into response DTOs")
+    void shouldProjectKeysetPageAfterCursor() {
+        // Arrange
+        Transaction first = entityManager.persist(Transaction.builder().amount(100).merchantOrBusiness("A")
+                .date(LocalDateTime.now()).tenpista(tenpista).build());
+        entityManager.persist(Transaction.builder().amount(200).merchantOrBusiness("B").date(LocalDateTime.now())
+                .tenpista(tenpista).build());
+        entityManager.persist(Transaction.builder().amount(300).merchantOrBusiness("C").date(LocalDateTime.now())
+                .tenpista(tenpista).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<TransactionResponseDTO> page = transactionRepository.findPageAfter(first.getId(), Limit.of(1));
+
+        // Assert
+        assertThat(page).hasSize(1);
+        assertThat(page.get(0).merchantOrBusiness()).isEqualTo("B");
+        assertThat(page.get(0).tenpistaName()).isEqualTo("Tenpista 1");
+    }
+
+    @Test
+    @DisplayName("Should return keyset page before cursor in descending order")
+    void shouldReturnKeysetPageBeforeCursorDescending() {
+        // Arrange
+        entityManager.persist(Transaction.builder().amount(100).merchantOrBusiness("A").date(LocalDateTime.now())
+                .tenpista(tenpista).build());
+        entityManager.persist(Transaction.builder().amount(200).merchantOrBusiness("B").date(LocalDateTime.now())
+                .tenpista(tenpista).build());
+        entityManager.flush();
+
+        // Act
+        List<TransactionResponseDTO> page = transactionRepository.findPageBefore(Integer.MAX_VALUE, Limit.of(10));
+
+        // Assert
+        assertThat(page).extracting(TransactionResponseDTO::merchantOrBusiness).containsExactly("B", "A");
+    }
+
+    @Test
+    @DisplayName("Should page tenpista transactions newest first within date range")
+    void shouldPageTenpistaTransactionsWithinDateRange() {
+        // Arrange
+        LocalDateTime day = LocalDateTime.of(2024, 5, 1, 12, 0);
+        Tenpista other = entityManager.persist(Tenpista.builder().name("Tenpista 2").rut("98.765.432-1").build());
+        entityManager.persist(Transaction.builder().amount(100).merchantOrBusiness("Old").date(day.minusDays(10))
+                .tenpista(tenpista).build());
+        Transaction tied = entityManager.persist(Transaction.builder().amount(200).merchantOrBusiness("Tie 1")
+                .date(day).tenpista(tenpista).build());
+        entityManager.persist(Transaction.builder().amount(300).merchantOrBusiness("Tie 2").date(day)
+                .tenpista(tenpista).build());
+        entityManager.persist(Transaction.builder().amount(400).merchantOrBusiness("Other").date(day)
+                .tenpista(other).build());
+        entityManager.flush();
+
+        LocalDateTime from = day.minusDays(1);
+        LocalDateTime to = day.plusDays(1);
+
+        // Act
+        List<TransactionResponseDTO> first = transactionRepository.findTenpistaPage(tenpista.getId(), from, to,
+                to, Integer.MIN_VALUE, Limit.of(10));
+        List<TransactionResponseDTO> afterTie = transactionRepository.findTenpistaPage(tenpista.getId(), from, to,
+                day, tied.getId() + 1, Limit.of(10));
+
+        // Assert
+        assertThat(first).extracting(TransactionResponseDTO::merchantOrBusiness).containsExactly("Tie 2", "Tie 1");
+        assertThat(afterTie).extracting(TransactionResponseDTO::merchantOrBusiness).containsExactly("Tie 1");
+    }
+
+    @Test
+    @DisplayName("Should stream all transactions as DTOs ordered by id")
+    void shouldStreamAllTransactionsOrderedById() {
+        // Arrange
+        entityManager.persist(Transaction.builder().amount(100).merchantOrBusiness("A").date(LocalDateTime.now())
+                .tenpista(tenpista).build());
+        entityManager.persist(Transaction.builder().amount(200).merchantOrBusiness("B").date(LocalDateTime.now())
+                .tenpista(tenpista).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<TransactionResponseDTO> exported;
+        try (Stream<TransactionResponseDTO> stream = transactionRepository.streamAll()) {
+            exported = stream.toList();
+        }
+
+        // Assert
+        assertThat(exported).extracting(TransactionResponseDTO::merchantOrBusiness).containsExactly("A", "B");
+    }
+
+    @Test
+    @DisplayName("Should insert in JDBC batches with pooled id allocation")
+    void shouldInsertInBatchesWithPooledIds() {
+        // Arrange
+        int rows = 500;
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            transactions.add(Transaction.builder().amount(i).merchantOrBusiness("Bulk " + i)
+                    .date(LocalDateTime.now()).tenpista(tenpista).build());
+        }
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        transactionRepository.saveAll(transactions);
+        entityManager.flush();
+
+        // Assert: 10 nextval calls + 10 insert batches, versus 1000 statements with allocationSize = 1
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2L * rows / 50 + 2);
+        assertThat(transactionRepository.countByTenpistaId(tenpista.getId())).isEqualTo(rows);
+    }
 }
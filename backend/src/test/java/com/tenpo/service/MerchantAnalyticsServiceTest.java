@@ -0,0 +1,185 @@
+package com.tenpo.service;
+
+import com.tenpo.api.dto.MerchantBucketDTO;
+import com.tenpo.api.dto.MerchantVolumeDTO;
+import com.tenpo.api.dto.TransactionRequestDTO;
+import com.tenpo.api.dto.TransactionResponseDTO;
+import com.tenpo.config.AnalyticsProperties;
+import com.tenpo.config.RateLimitConfig;
+import com.tenpo.config.TransactionProperties;
+import com.tenpo.model.Tenpista;
+import com.tenpo.repository.MerchantRollupDeltaRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({ MerchantAnalyticsService.class, TransactionService.class, ResourceVersionService.class,
+        RateLimitConfig.class, MerchantAnalyticsServiceTest.Config.class })
+@DisplayName("Merchant Analytics Rollup Tests")
+class MerchantAnalyticsServiceTest {
+
+    // A Wednesday; the week bucket starts on Monday 2024-04-29
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Autowired
+    private MerchantAnalyticsService merchantAnalyticsService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MerchantRollupDeltaRepository merchantRollupDeltaRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Integer tenpistaId;
+
+    @BeforeEach
+    void setUp() {
+        tenpistaId = entityManager.persistFlushFind(
+                Tenpista.builder().name("Tenpista 1").rut("12.345.678-9").build()).getId();
+    }
+
+    @Test
+    @DisplayName("Should fold recorded deltas into daily rollups on refresh")
+    void shouldFoldDeltasOnRefresh() {
+        // Arrange
+        create(100, "Starbucks", DAY);
+        create(250, "Amazon", DAY);
+        create(50, "Starbucks", DAY.plusHours(3));
+        create(70, "Starbucks", DAY.plusDays(1));
+
+        // Act
+        int applied = merchantAnalyticsService.refresh();
+        List<MerchantBucketDTO> buckets = merchantAnalyticsService.getTopMerchants(
+                DAY.toLocalDate(), DAY.toLocalDate().plusDays(1), "day", 10);
+
+        // Assert
+        assertThat(applied).isEqualTo(4);
+        assertThat(merchantRollupDeltaRepository.count()).isZero();
+        assertThat(buckets).extracting(MerchantBucketDTO::bucket)
+                .containsExactly(DAY.toLocalDate(), DAY.toLocalDate().plusDays(1));
+        assertThat(buckets.get(0).merchants()).containsExactly(
+                new MerchantVolumeDTO("Amazon", 1L, 250L),
+                new MerchantVolumeDTO("Starbucks", 2L, 150L));
+        assertThat(buckets.get(1).merchants()).containsExactly(new MerchantVolumeDTO("Starbucks", 1L, 70L));
+    }
+
+    @Test
+    @DisplayName("Should move volume between buckets on update and drop emptied buckets on delete")
+    void shouldFollowUpdatesAndDeletes() {
+        // Arrange
+        Integer moved = create(100, "Starbucks", DAY).id();
+        Integer deleted = create(40, "Amazon", DAY).id();
+        merchantAnalyticsService.refresh();
+
+        // Act
+        transactionService.updateTransaction(moved,
+                new TransactionRequestDTO(120, "Starbucks", DAY.plusDays(1), tenpistaId), null);
+        transactionService.deleteTransaction(deleted);
+        merchantAnalyticsService.refresh();
+        List<MerchantBucketDTO> buckets = merchantAnalyticsService.getTopMerchants(
+                DAY.toLocalDate(), DAY.toLocalDate().plusDays(1), "day", 10);
+
+        // Assert
+        assertThat(buckets).hasSize(1);
+        assertThat(buckets.get(0).bucket()).isEqualTo(DAY.toLocalDate().plusDays(1));
+        assertThat(buckets.get(0).merchants()).containsExactly(new MerchantVolumeDTO("Starbucks", 1L, 120L));
+    }
+
+    @Test
+    @DisplayName("Should rebuild the same rollups from transactions and discard pending deltas")
+    void shouldRebuildFromTransactions() {
+        // Arrange
+        create(100, "Starbucks", DAY);
+        create(250, "Amazon", DAY.plusDays(1));
+        entityManager.flush();
+
+        // Act
+        merchantAnalyticsService.rebuild();
+        entityManager.clear();
+        List<MerchantBucketDTO> buckets = merchantAnalyticsService.getTopMerchants(
+                DAY.toLocalDate(), DAY.toLocalDate().plusDays(1), "day", 10);
+
+        // Assert
+        assertThat(merchantRollupDeltaRepository.count()).isZero();
+        assertThat(buckets).extracting(b -> b.merchants().get(0))
+                .containsExactly(new MerchantVolumeDTO("Starbucks", 1L, 100L),
+                        new MerchantVolumeDTO("Amazon", 1L, 250L));
+    }
+
+    @Test
+    @DisplayName("Should group days into Monday-based weeks and keep only the top N per bucket")
+    void shouldBucketByWeek() {
+        // Arrange: Wed and Sun share a week, the following Monday starts a new one
+        create(100, "Starbucks", DAY);
+        create(300, "Starbucks", DAY.plusDays(4));
+        create(200, "Amazon", DAY.plusDays(4));
+        create(10, "Uber", DAY.plusDays(5));
+        merchantAnalyticsService.refresh();
+
+        // Act
+        List<MerchantBucketDTO> buckets = merchantAnalyticsService.getTopMerchants(
+                DAY.toLocalDate(), DAY.toLocalDate().plusDays(6), "week", 1);
+
+        // Assert
+        assertThat(buckets).extracting(MerchantBucketDTO::bucket)
+                .containsExactly(LocalDate.of(2024, 4, 29), LocalDate.of(2024, 5, 6));
+        assertThat(buckets.get(0).merchants()).containsExactly(new MerchantVolumeDTO("Starbucks", 2L, 400L));
+        assertThat(buckets.get(1).merchants()).containsExactly(new MerchantVolumeDTO("Uber", 1L, 10L));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown buckets and ranges beyond the configured maximum")
+    void shouldRejectInvalidQueries() {
+        LocalDate today = LocalDate.now();
+
+        assertThatThrownBy(() -> merchantAnalyticsService.getTopMerchants(today, today, "month", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> merchantAnalyticsService.getTopMerchants(today.minusDays(366), today, "day", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> merchantAnalyticsService.getTopMerchants(today, today.minusDays(1), "day", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private TransactionResponseDTO create(int amount, String merchant, LocalDateTime date) {
+        return transactionService.createTransaction(new TransactionRequestDTO(amount, merchant, date, tenpistaId));
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        TransactionProperties transactionProperties() {
+            return new TransactionProperties(100, 1000);
+        }
+
+        @Bean
+        AnalyticsProperties analyticsProperties() {
+            return new AnalyticsProperties(Duration.ofSeconds(30), 5000, 366);
+        }
+
+        @Bean
+        Validator validator() {
+            return Validation.buildDefaultValidatorFactory().getValidator();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.tenpo.service;
+
+import com.tenpo.model.ResourceVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(ResourceVersionService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("ResourceVersionService Integration Tests")
+class ResourceVersionServiceTest {
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should bump the counter only after the write transaction commits")
+    void shouldBumpAfterCommit() {
+        // Arrange
+        long before = resourceVersionService.version(ResourceVersion.TRANSACTIONS);
+
+        // Act
+        long during = transaction.execute(status -> {
+            resourceVersionService.bump(ResourceVersion.TRANSACTIONS);
+            return resourceVersionService.version(ResourceVersion.TRANSACTIONS);
+        });
+
+        // Assert: the counter row is never written, so never locked, inside the caller's transaction
+        assertThat(during).isEqualTo(before);
+        assertThat(resourceVersionService.version(ResourceVersion.TRANSACTIONS)).isEqualTo(before + 1);
+    }
+
+    @Test
+    @DisplayName("Should not bump the counter when the write transaction rolls back")
+    void shouldNotBumpOnRollback() {
+        // Arrange
+        long before = resourceVersionService.version(ResourceVersion.TENPISTAS);
+
+        // Act
+        transaction.executeWithoutResult(status -> {
+            resourceVersionService.bump(ResourceVersion.TENPISTAS);
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertThat(resourceVersionService.version(ResourceVersion.TENPISTAS)).isEqualTo(before);
+    }
+}
@@ -0,0 +1,99 @@
+package com.tenpo.service;
+
+import com.tenpo.api.dto.TenpistaRequestDTO;
+import com.tenpo.api.dto.TenpistaResponseDTO;
+import com.tenpo.config.CacheConfig;
+import com.tenpo.model.Tenpista;
+import com.tenpo.repository.TenpistaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Cache writes are deferred to commit, so each call must run in its own committed transaction
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ TenpistaService.class, ResourceVersionService.class, CacheConfig.class })
+@DisplayName("TenpistaService Cache Tests")
+class TenpistaServiceCacheTest {
+
+    @Autowired
+    private TenpistaService tenpistaService;
+
+    @Autowired
+    private TenpistaRepository tenpistaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Integer id;
+
+    @BeforeEach
+    void setUp() {
+        id = tenpistaRepository.save(Tenpista.builder().name("John Doe").rut("12.345.678-9").build()).getId();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tenpistaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups by id from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        // Act
+        tenpistaService.getTenpistaById(id);
+        TenpistaResponseDTO cached = tenpistaService.getTenpistaById(id);
+        tenpistaRepository.findNameById(id);
+        String cachedName = tenpistaRepository.findNameById(id).orElseThrow();
+
+        // Assert: one query for the entity, one for the name projection
+        assertThat(cached.name()).isEqualTo("John Doe");
+        assertThat(cachedName).isEqualTo("John Doe");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should evict cached tenpista and name on update")
+    void shouldEvictOnUpdate() {
+        // Arrange
+        tenpistaService.getTenpistaById(id);
+        tenpistaRepository.findNameById(id);
+
+        // Act
+        tenpistaService.updateTenpista(id, new TenpistaRequestDTO("Jane Doe", "12.345.678-9"), null);
+
+        // Assert
+        assertThat(tenpistaService.getTenpistaById(id).name()).isEqualTo("Jane Doe");
+        assertThat(tenpistaRepository.findNameById(id)).contains("Jane Doe");
+    }
+
+    @Test
+    @DisplayName("Should evict cached tenpista and name on delete")
+    void shouldEvictOnDelete() {
+        // Arrange
+        tenpistaService.getTenpistaById(id);
+        tenpistaRepository.findNameById(id);
+
+        // Act
+        tenpistaService.deleteTenpista(id);
+
+        // Assert
+        assertThrows(RuntimeException.class, () -> tenpistaService.getTenpistaById(id));
+        assertThat(tenpistaRepository.findNameById(id)).isEmpty();
+    }
+}
@@ -1,10 +1,14 @@
 package com.tenpo.service;
 
+import com.tenpo.api.dto.CursorPageDTO;
 import com.tenpo.api.dto.TenpistaRequestDTO;
 import com.tenpo.api.dto.TenpistaResponseDTO;
+import com.tenpo.api.dto.TransactionResponseDTO;
 import com.tenpo.model.Tenpista;
 import com.tenpo.repository.TenpistaRepository;
+import com.tenpo.repository.TenpistaSummaryRepository;
 import com.tenpo.repository.TransactionRepository;
+import com.tenpo.exception.PreconditionFailedException;
 import com.tenpo.exception.TenpistaHasTransactionsException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,12 +17,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +38,12 @@ class TenpistaServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private TenpistaSummaryRepository tenpistaSummaryRepository;
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
     @InjectMocks
     private TenpistaService tenpistaService;
 
@@ -104,6 +117,42 @@ class TenpistaServiceTest {
         assertThrows(RuntimeException.class, () -> tenpistaService.getTenpistaById(id));
     }
 
+    @Test
+    @DisplayName("Should return date-id cursor for tenpista transactions and resume from it")
+    void shouldReturnCursorForTenpistaTransactionsAndResume() {
+        // Arrange
+        LocalDateTime newest = LocalDateTime.of(2024, 5, 3, 10, 0);
+        LocalDateTime middle = LocalDateTime.of(2024, 5, 2, 10, 0);
+        List<TransactionResponseDTO> rows = List.of(
+                new TransactionResponseDTO(30, 300, "C", newest, 1, "John Doe"),
+                new TransactionResponseDTO(20, 200, "B", middle, 1, "John Doe"),
+                new TransactionResponseDTO(10, 100, "A", middle, 1, "John Doe"));
+        when(tenpistaRepository.existsById(1)).thenReturn(true);
+        when(transactionRepository.findTenpistaPage(eq(1), any(), any(), any(), any(), eq(Limit.of(3))))
+                .thenReturn(rows);
+
+        // Act
+        CursorPageDTO<TransactionResponseDTO> first = tenpistaService.getTenpistaTransactions(1, null, null, 2, null);
+        tenpistaService.getTenpistaTransactions(1, null, null, 2, first.nextCursor());
+
+        // Assert
+        assertEquals(2, first.items().size());
+        assertNotNull(first.nextCursor());
+        verify(transactionRepository).findTenpistaPage(eq(1), any(), any(), eq(middle), eq(20), eq(Limit.of(3)));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed tenpista transactions cursor")
+    void shouldRejectMalformedCursor() {
+        // Arrange
+        when(tenpistaRepository.existsById(1)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> tenpistaService.getTenpistaTransactions(1, null, null, 10, "not-a-cursor"));
+        verify(transactionRepository, never()).findTenpistaPage(any(), any(), any(), any(), any(), any());
+    }
+
     @Test
     @DisplayName("Should update tenpista details when valid")
     void shouldUpdateTenpistaWhenValid() {
@@ -114,16 +163,46 @@ class TenpistaServiceTest {
         Tenpista updatedTenpista = Tenpista.builder().id(tenpistaId).name("Jane Doe").rut("98.765.432-1").build();
 
         when(tenpistaRepository.findById(tenpistaId)).thenReturn(Optional.of(existingTenpista));
-        when(tenpistaRepository.save(any(Tenpista.class))).thenReturn(updatedTenpista);
+        when(tenpistaRepository.saveAndFlush(any(Tenpista.class))).thenReturn(updatedTenpista);
 
         // Act
-        TenpistaResponseDTO response = tenpistaService.updateTenpista(tenpistaId, request);
+        TenpistaResponseDTO response = tenpistaService.updateTenpista(tenpistaId, request, null).body();
 
         // Assert
         assertNotNull(response);
         assertEquals("Jane Doe", response.name());
         verify(tenpistaRepository, times(1)).findById(tenpistaId);
-        verify(tenpistaRepository, times(1)).save(any(Tenpista.class));
+        verify(tenpistaRepository, times(1)).saveAndFlush(any(Tenpista.class));
+    }
+
+    @Test
+    @DisplayName("Should skip the update when nothing changed")
+    void shouldSkipUpdateWhenNothingChanged() {
+        // Arrange
+        Tenpista tenpista = Tenpista.builder().id(101).name("John Doe").rut("12.345.678-9").version(4L).build();
+        when(tenpistaRepository.findById(101)).thenReturn(Optional.of(tenpista));
+
+        // Act
+        Versioned<TenpistaResponseDTO> response = tenpistaService.updateTenpista(101,
+                new TenpistaRequestDTO("John Doe", "12.345.678-9"), "\"4\"");
+
+        // Assert
+        assertEquals("\"4\"", response.etag());
+        verify(tenpistaRepository, never()).saveAndFlush(any());
+        verify(resourceVersionService, never()).bump(any());
+    }
+
+    @Test
+    @DisplayName("Should reject update when If-Match is stale")
+    void shouldRejectUpdateWhenIfMatchIsStale() {
+        // Arrange
+        Tenpista tenpista = Tenpista.builder().id(101).name("John Doe").rut("12.345.678-9").version(5L).build();
+        when(tenpistaRepository.findById(101)).thenReturn(Optional.of(tenpista));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> tenpistaService.updateTenpista(101,
+                new TenpistaRequestDTO("Jane Doe", "12.345.678-9"), "\"4\""));
+        verify(tenpistaRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -134,7 +213,6 @@ class TenpistaServiceTest {
         Tenpista tenpista = Tenpista.builder().id(id).name("John Doe").build();
 
         when(tenpistaRepository.findById(id)).thenReturn(Optional.of(tenpista));
-        when(transactionRepository.countByTenpistaId(id)).thenReturn(0L);
         doNothing().when(tenpistaRepository).delete(tenpista);
 
         // Act
@@ -142,8 +220,8 @@ class TenpistaServiceTest {
 
         // Assert
         verify(tenpistaRepository, times(1)).findById(id);
-        verify(transactionRepository, times(1)).countByTenpistaId(id);
         verify(tenpistaRepository, times(1)).delete(tenpista);
+        verify(transactionRepository, never()).countByTenpistaId(any());
     }
 
     @Test
@@ -151,10 +229,9 @@ class TenpistaServiceTest {
     void shouldThrowExceptionWhenTenpistaHasTransactions() {
         // Arrange
         Integer id = 101;
-        Tenpista tenpista = Tenpista.builder().id(id).name("John Doe").build();
+        Tenpista tenpista = Tenpista.builder().id(id).name("John Doe").transactionCount(5).build();
 
         when(tenpistaRepository.findById(id)).thenReturn(Optional.of(tenpista));
-        when(transactionRepository.countByTenpistaId(id)).thenReturn(5L);
 
         // Act & Assert
         TenpistaHasTransactionsException exception = assertThrows(
@@ -163,7 +240,6 @@ class TenpistaServiceTest {
 
         assertTrue(exception.getMessage().contains("5 transaction(s)"));
         verify(tenpistaRepository, times(1)).findById(id);
-        verify(transactionRepository, times(1)).countByTenpistaId(id);
         verify(tenpistaRepository, never()).delete(any());
     }
 
@@ -177,7 +253,7 @@ class TenpistaServiceTest {
         // Act & Assert
         assertThrows(RuntimeException.class, () -> tenpistaService.deleteTenpista(id));
         verify(tenpistaRepository, times(1)).findById(id);
-        verify(transactionRepository, never()).countByTenpistaId(any());
+        verify(tenpistaRepository, never()).delete(any());
     }
 
     @Test
@@ -188,7 +264,6 @@ class TenpistaServiceTest {
         Tenpista tenpista = Tenpista.builder().id(id).name("John Doe").build();
 
         when(tenpistaRepository.findById(id)).thenReturn(Optional.of(tenpista));
-        when(transactionRepository.countByTenpistaId(id)).thenReturn(0L);
         doThrow(new DataIntegrityViolationException("FK constraint"))
                 .when(tenpistaRepository).delete(tenpista);
 
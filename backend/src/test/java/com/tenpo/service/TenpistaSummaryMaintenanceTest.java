@@ -0,0 +1,140 @@
+package com.tenpo.service;
+
+import com.tenpo.api.dto.TenpistaRequestDTO;
+import com.tenpo.api.dto.TenpistaSummaryDTO;
+import com.tenpo.api.dto.TransactionRequestDTO;
+import com.tenpo.config.AnalyticsProperties;
+import com.tenpo.config.RateLimitConfig;
+import com.tenpo.config.TransactionProperties;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ TransactionService.class, TenpistaService.class, ResourceVersionService.class,
+        MerchantAnalyticsService.class, RateLimitConfig.class, TenpistaSummaryMaintenanceTest.Config.class })
+@DisplayName("Tenpista Summary Maintenance Tests")
+class TenpistaSummaryMaintenanceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TenpistaService tenpistaService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Integer alice;
+    private Integer bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = tenpistaService.createTenpista(new TenpistaRequestDTO("Alice", "11.111.111-1")).id();
+        bob = tenpistaService.createTenpista(new TenpistaRequestDTO("Bob", "22.222.222-2")).id();
+    }
+
+    @Test
+    @DisplayName("Should start new tenpistas with an empty summary")
+    void shouldStartWithEmptySummary() {
+        // Act
+        TenpistaSummaryDTO summary = tenpistaService.getTenpistaSummary(alice);
+
+        // Assert
+        assertThat(summary.tenpistaName()).isEqualTo("Alice");
+        assertThat(summary.transactionCount()).isZero();
+        assertThat(summary.totalAmount()).isZero();
+        assertThat(summary.firstTransactionDate()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep summaries equal to a GROUP BY through create, batch, update and delete")
+    void shouldMatchGroupByAfterWrites() {
+        // Arrange & Act
+        Integer first = transactionService.createTransaction(
+                new TransactionRequestDTO(100, "A", DAY.minusDays(2), alice)).id();
+        Integer last = transactionService.createTransactions(List.of(
+                new TransactionRequestDTO(200, "B", DAY, alice),
+                new TransactionRequestDTO(300, "C", DAY.plusDays(3), alice),
+                new TransactionRequestDTO(50, "D", DAY, bob))).results().get(1).transaction().id();
+        Integer moved = transactionService.createTransaction(
+                new TransactionRequestDTO(400, "E", DAY.plusDays(1), alice)).id();
+
+        transactionService.updateTransaction(first, new TransactionRequestDTO(150, "A", DAY.minusDays(1), alice), null);
+        transactionService.updateTransaction(moved, new TransactionRequestDTO(400, "E", DAY.plusDays(1), bob), null);
+        transactionService.deleteTransaction(last);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        assertMatchesGroupBy(alice);
+        assertMatchesGroupBy(bob);
+        TenpistaSummaryDTO summary = tenpistaService.getTenpistaSummary(alice);
+        assertThat(summary.transactionCount()).isEqualTo(2);
+        assertThat(summary.totalAmount()).isEqualTo(350L);
+        assertThat(summary.firstTransactionDate()).isEqualTo(DAY.minusDays(1));
+        assertThat(summary.lastTransactionDate()).isEqualTo(DAY);
+    }
+
+    @Test
+    @DisplayName("Should list summaries by total amount descending")
+    void shouldListSummariesByTotalAmount() {
+        // Arrange
+        transactionService.createTransaction(new TransactionRequestDTO(100, "A", DAY, alice));
+        transactionService.createTransaction(new TransactionRequestDTO(900, "B", DAY, bob));
+
+        // Act
+        List<TenpistaSummaryDTO> top = tenpistaService.getTenpistaSummaries(1);
+
+        // Assert
+        assertThat(top).extracting(TenpistaSummaryDTO::tenpistaName).containsExactly("Bob");
+    }
+
+    private void assertMatchesGroupBy(Integer tenpistaId) {
+        Object[] expected = (Object[]) entityManager.getEntityManager().createQuery(
+                "SELECT COUNT(t), COALESCE(SUM(t.amount), 0), MIN(t.date), MAX(t.date) "
+                        + "FROM Transaction t WHERE t.tenpista.id = :id")
+                .setParameter("id", tenpistaId)
+                .getSingleResult();
+        TenpistaSummaryDTO summary = tenpistaService.getTenpistaSummary(tenpistaId);
+        assertThat(summary.transactionCount().longValue()).isEqualTo(((Number) expected[0]).longValue());
+        assertThat(summary.totalAmount()).isEqualTo(((Number) expected[1]).longValue());
+        assertThat(summary.firstTransactionDate()).isEqualTo(expected[2]);
+        assertThat(summary.lastTransactionDate()).isEqualTo(expected[3]);
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        TransactionProperties transactionProperties() {
+            return new TransactionProperties(100, 1000);
+        }
+
+        @Bean
+        AnalyticsProperties analyticsProperties() {
+            return new AnalyticsProperties(Duration.ofSeconds(30), 5000, 366);
+        }
+
+        @Bean
+        Validator validator() {
+            return Validation.buildDefaultValidatorFactory().getValidator();
+        }
+    }
+}
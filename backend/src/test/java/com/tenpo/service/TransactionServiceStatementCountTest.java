@@ -0,0 +1,127 @@
+package com.tenpo.service;
+
+import com.tenpo.api.dto.TransactionRequestDTO;
+import com.tenpo.api.dto.TransactionResponseDTO;
+import com.tenpo.config.AnalyticsProperties;
+import com.tenpo.config.RateLimitConfig;
+import com.tenpo.config.TransactionProperties;
+import com.tenpo.model.Tenpista;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ TransactionService.class, ResourceVersionService.class, MerchantAnalyticsService.class,
+        RateLimitConfig.class, TransactionServiceStatementCountTest.Config.class })
+@DisplayName("TransactionService SQL Statement Count Tests")
+class TransactionServiceStatementCountTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private Tenpista tenpista;
+
+    @BeforeEach
+    void setUp() {
+        tenpista = entityManager.persistFlushFind(Tenpista.builder().name("Tenpista 1").rut("12.345.678-9").build());
+        entityManager.clear();
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should create a transaction without loading the Tenpista entity")
+    void shouldCreateWithoutLoadingTenpista() {
+        // Act
+        TransactionResponseDTO response = transactionService.createTransaction(
+                new TransactionRequestDTO(100, "Starbucks", LocalDateTime.now(), tenpista.getId()));
+        entityManager.flush();
+
+        // Assert: name projection + counter update + nextval + insert + summary update
+        // + delta nextval + delta insert; the version bump runs after commit, in its own transaction
+        assertThat(response.tenpistaName()).isEqualTo("Tenpista 1");
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should update a transaction loading only the transaction itself")
+    void shouldUpdateLoadingOnlyTheTransaction() {
+        // Arrange
+        Integer id = transactionService.createTransaction(
+                new TransactionRequestDTO(100, "Starbucks", LocalDateTime.now(), tenpista.getId())).id();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        TransactionResponseDTO response = transactionService.updateTransaction(id,
+                new TransactionRequestDTO(200, "Amazon", LocalDateTime.now(), tenpista.getId()), null).body();
+        entityManager.flush();
+
+        // Assert: select transaction + tenpistas counter + name projection + update + summary update
+        // + one batched insert for both rollup deltas; the counter bump waits for commit
+        assertThat(response.tenpistaName()).isEqualTo("Tenpista 1");
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should skip the UPDATE when a PUT changes nothing")
+    void shouldSkipUpdateWhenUnchanged() {
+        // Arrange
+        LocalDateTime date = LocalDateTime.of(2024, 5, 1, 12, 0);
+        TransactionRequestDTO request = new TransactionRequestDTO(100, "Starbucks", date, tenpista.getId());
+        Integer id = transactionService.createTransaction(request).id();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        transactionService.updateTransaction(id, request, null);
+        entityManager.flush();
+
+        // Assert
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        TransactionProperties transactionProperties() {
+            return new TransactionProperties(100, 1000);
+        }
+
+        @Bean
+        AnalyticsProperties analyticsProperties() {
+            return new AnalyticsProperties(Duration.ofSeconds(30), 5000, 366);
+        }
+
+        @Bean
+        Validator validator() {
+            return Validation.buildDefaultValidatorFactory().getValidator();
+        }
+    }
+}
@@ -1,24 +1,43 @@
 package com.tenpo.service;
 
+import com.tenpo.api.dto.CursorPageDTO;
+import com.tenpo.api.dto.TransactionBatchResponseDTO;
 import com.tenpo.api.dto.TransactionRequestDTO;
 import com.tenpo.api.dto.TransactionResponseDTO;
+import com.tenpo.config.TransactionProperties;
+import com.tenpo.exception.PreconditionFailedException;
+import com.tenpo.exception.TransactionLimitExceededException;
+import com.tenpo.interceptor.RateLimiter;
 import com.tenpo.model.Tenpista;
 import com.tenpo.model.Transaction;
+import com.tenpo.repository.TenpistaNameView;
 import com.tenpo.repository.TenpistaRepository;
+import com.tenpo.repository.TenpistaSummaryRepository;
 import com.tenpo.repository.TransactionRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +50,27 @@ class TransactionServiceTest {
     @Mock
     private TenpistaRepository tenpistaRepository;
 
+    @Mock
+    private TenpistaSummaryRepository tenpistaSummaryRepository;
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
+    @Mock
+    private MerchantAnalyticsService merchantAnalyticsService;
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private TransactionProperties transactionProperties = new TransactionProperties(100, 1000);
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -51,7 +91,9 @@ class TransactionServiceTest {
                 .tenpista(tenpista)
                 .build();
 
-        when(tenpistaRepository.findById(tenpistaId)).thenReturn(Optional.of(tenpista));
+        when(tenpistaRepository.findNameById(tenpistaId)).thenReturn(Optional.of("Tenpista 1"));
+        when(tenpistaRepository.incrementTransactionCount(tenpistaId, 100)).thenReturn(1);
+        when(tenpistaRepository.getReferenceById(tenpistaId)).thenReturn(tenpista);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
 
         // Act
@@ -62,10 +104,30 @@ class TransactionServiceTest {
         assertEquals(1001, response.id());
         assertEquals(500, response.amount());
         assertEquals("Starbucks", response.merchantOrBusiness());
-        verify(tenpistaRepository, times(1)).findById(tenpistaId);
+        assertEquals("Tenpista 1", response.tenpistaName());
+        verify(tenpistaRepository, times(1)).findNameById(tenpistaId);
+        verify(tenpistaRepository, never()).findById(any());
+        verify(tenpistaRepository, times(1)).incrementTransactionCount(tenpistaId, 100);
         verify(transactionRepository, times(1)).save(any(Transaction.class));
     }
 
+    @Test
+    @DisplayName("Should throw TransactionLimitExceededException when tenpista is at the cap")
+    void shouldThrowWhenTenpistaIsAtTransactionCap() {
+        // Arrange
+        Integer tenpistaId = 1;
+        TransactionRequestDTO request = new TransactionRequestDTO(500, "Biz", LocalDateTime.now(), tenpistaId);
+
+        when(tenpistaRepository.findNameById(tenpistaId)).thenReturn(Optional.of("Tenpista 1"));
+        when(tenpistaRepository.incrementTransactionCount(tenpistaId, 100)).thenReturn(0);
+
+        // Act & Assert
+        TransactionLimitExceededException exception = assertThrows(TransactionLimitExceededException.class,
+                () -> transactionService.createTransaction(request));
+        assertTrue(exception.getMessage().contains("maximum of 100"));
+        verifyNoInteractions(transactionRepository);
+    }
+
     @Test
     @DisplayName("Should throw exception when tenpista not found")
     void shouldThrowExceptionWhenTenpistaNotFound() {
@@ -73,35 +135,200 @@ class TransactionServiceTest {
         Integer tenpistaId = 999;
         TransactionRequestDTO request = new TransactionRequestDTO(500, "Biz", LocalDateTime.now(), tenpistaId);
 
-        when(tenpistaRepository.findById(tenpistaId)).thenReturn(Optional.empty());
+        when(tenpistaRepository.findNameById(tenpistaId)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> transactionService.createTransaction(request));
         assertEquals("Tenpista not found", exception.getMessage());
-        verify(tenpistaRepository, times(1)).findById(tenpistaId);
+        verify(tenpistaRepository, times(1)).findNameById(tenpistaId);
         verifyNoInteractions(transactionRepository);
     }
 
     @Test
-    @DisplayName("Should return all transactions")
-    void shouldReturnAllTransactions() {
+    @DisplayName("Should create batch with one tenpista lookup and report per-item failures")
+    void shouldCreateBatchAndReportPerItemFailures() {
         // Arrange
-        Tenpista tenpista = Tenpista.builder().id(1).name("Tenpista 1").rut("12345678-9").build();
-        List<Transaction> transactions = List.of(
-                Transaction.builder().id(1).amount(100).merchantOrBusiness("Store 1").date(LocalDateTime.now())
-                        .tenpista(tenpista).build(),
-                Transaction.builder().id(2).amount(200).merchantOrBusiness("Store 2").date(LocalDateTime.now())
-                        .tenpista(tenpista).build());
+        LocalDateTime now = LocalDateTime.now();
+        Tenpista tenpista = Tenpista.builder().id(1).build();
+        List<TransactionRequestDTO> requests = List.of(
+                new TransactionRequestDTO(100, "Store 1", now, 1),
+                new TransactionRequestDTO(-5, "Store 2", now, 1),
+                new TransactionRequestDTO(200, "Store 3", now, 99),
+                new TransactionRequestDTO(300, "Store 4", now, 1));
+
+        when(tenpistaRepository.findNamesByIdIn(any())).thenReturn(List.of(new TenpistaNameView(1, "Tenpista 1", 0)));
+        when(rateLimiter.tryAcquire("1", 2)).thenReturn(true);
+        when(tenpistaRepository.incrementTransactionCountBy(1, 2, 100)).thenReturn(1);
+        when(tenpistaRepository.getReferenceById(1)).thenReturn(tenpista);
+        when(transactionRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Transaction> toSave = invocation.getArgument(0);
+            for (int i = 0; i < toSave.size(); i++) {
+                toSave.get(i).setId(500 + i);
+            }
+            return toSave;
+        });
+
+        // Act
+        TransactionBatchResponseDTO response = transactionService.createTransactions(requests);
+
+        // Assert
+        assertEquals(2, response.created());
+        assertEquals(2, response.failed());
+        assertEquals(500, response.results().get(0).transaction().id());
+        assertEquals("Tenpista 1", response.results().get(0).transaction().tenpistaName());
+        assertEquals("amount: Amount cannot be negative", response.results().get(1).error());
+        assertEquals("Tenpista not found", response.results().get(2).error());
+        assertEquals(501, response.results().get(3).transaction().id());
+        verify(tenpistaRepository, times(1)).findNamesByIdIn(any());
+        verify(tenpistaRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a tenpista's whole share of a batch over the cap without charging the rate limiter")
+    void shouldRejectBatchShareWhenCapWouldBeExceeded() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        List<TransactionRequestDTO> requests = List.of(
+                new TransactionRequestDTO(100, "Store 1", now, 1),
+                new TransactionRequestDTO(200, "Store 2", now, 1));
+
+        when(tenpistaRepository.findNamesByIdIn(any())).thenReturn(List.of(new TenpistaNameView(1, "Tenpista 1", 99)));
+        when(transactionRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        TransactionBatchResponseDTO response = transactionService.createTransactions(requests);
+
+        // Assert
+        assertEquals(0, response.created());
+        assertEquals(2, response.failed());
+        assertTrue(response.results().get(0).error().contains("maximum 100"));
+        verifyNoInteractions(rateLimiter);
+        verify(tenpistaRepository, never()).incrementTransactionCountBy(anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should reject a batch share when the cap fills up after the pre-check")
+    void shouldRejectBatchShareWhenCapFillsConcurrently() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        List<TransactionRequestDTO> requests = List.of(
+                new TransactionRequestDTO(100, "Store 1", now, 1),
+                new TransactionRequestDTO(200, "Store 2", now, 1));
+
+        when(tenpistaRepository.findNamesByIdIn(any())).thenReturn(List.of(new TenpistaNameView(1, "Tenpista 1", 0)));
+        when(rateLimiter.tryAcquire("1", 2)).thenReturn(true);
+        when(tenpistaRepository.incrementTransactionCountBy(1, 2, 100)).thenReturn(0);
+        when(transactionRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        TransactionBatchResponseDTO response = transactionService.createTransactions(requests);
+
+        // Assert
+        assertEquals(0, response.created());
+        assertEquals(2, response.failed());
+        assertTrue(response.results().get(0).error().contains("maximum 100"));
+    }
+
+    @Test
+    @DisplayName("Should charge each tenpista's share of a batch against the rate limiter")
+    void shouldRejectBatchShareWhenRateLimited() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        List<TransactionRequestDTO> requests = List.of(
+                new TransactionRequestDTO(100, "Store 1", now, 1),
+                new TransactionRequestDTO(200, "Store 2", now, 2),
+                new TransactionRequestDTO(300, "Store 3", now, 1));
+
+        when(tenpistaRepository.findNamesByIdIn(any())).thenReturn(List.of(
+                new TenpistaNameView(1, "Tenpista 1", 0), new TenpistaNameView(2, "Tenpista 2", 0)));
+        when(rateLimiter.tryAcquire("1", 2)).thenReturn(false);
+        when(rateLimiter.tryAcquire("2", 1)).thenReturn(true);
+        when(rateLimiter.requestsPerMinute()).thenReturn(3L);
+        when(tenpistaRepository.incrementTransactionCountBy(2, 1, 100)).thenReturn(1);
+        when(tenpistaRepository.getReferenceById(2)).thenReturn(Tenpista.builder().id(2).build());
+        when(transactionRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        TransactionBatchResponseDTO response = transactionService.createTransactions(requests);
+
+        // Assert
+        assertEquals(1, response.created());
+        assertEquals(2, response.failed());
+        assertTrue(response.results().get(0).error().contains("Rate limit is 3 per minute for tenpista 1"));
+        assertNotNull(response.results().get(1).transaction());
+        verify(tenpistaRepository, never()).incrementTransactionCountBy(eq(1), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should reject batches larger than the configured maximum")
+    void shouldRejectOversizedBatch() {
+        // Arrange
+        List<TransactionRequestDTO> requests = Collections.nCopies(1001,
+                new TransactionRequestDTO(100, "Store", LocalDateTime.now(), 1));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> transactionService.createTransactions(requests));
+        verifyNoInteractions(tenpistaRepository, transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Should return page with next cursor when more rows exist")
+    void shouldReturnPageWithNextCursorWhenMoreRowsExist() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        List<TransactionResponseDTO> rows = List.of(
+                new TransactionResponseDTO(1, 100, "Store 1", now, 1, "Tenpista 1"),
+                new TransactionResponseDTO(2, 200, "Store 2", now, 1, "Tenpista 1"),
+                new TransactionResponseDTO(3, 300, "Store 3", now, 1, "Tenpista 1"));
+
+        when(transactionRepository.findPageAfter(0, Limit.of(3))).thenReturn(rows);
+
+        // Act
+        CursorPageDTO<TransactionResponseDTO> response = transactionService.getTransactions(null, 2,
+                Sort.Direction.ASC);
+
+        // Assert
+        assertEquals(2, response.items().size());
+        assertEquals("2", response.nextCursor());
+        verify(transactionRepository, times(1)).findPageAfter(0, Limit.of(3));
+        verify(transactionRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should return last page without cursor when sorting descending")
+    void shouldReturnLastPageWithoutCursorWhenDescending() {
+        // Arrange
+        List<TransactionResponseDTO> rows = List.of(
+                new TransactionResponseDTO(4, 100, "Store 4", LocalDateTime.now(), 1, "Tenpista 1"));
+
+        when(transactionRepository.findPageBefore(5, Limit.of(11))).thenReturn(rows);
+
+        // Act
+        CursorPageDTO<TransactionResponseDTO> response = transactionService.getTransactions(5, 10,
+                Sort.Direction.DESC);
+
+        // Assert
+        assertEquals(1, response.items().size());
+        assertNull(response.nextCursor());
+    }
 
-        when(transactionRepository.findAll()).thenReturn(transactions);
+    @Test
+    @DisplayName("Should pass every streamed transaction to the export consumer")
+    void shouldPassStreamedTransactionsToExportConsumer() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        when(transactionRepository.streamAll()).thenReturn(Stream.of(
+                new TransactionResponseDTO(1, 100, "Store 1", now, 1, "Tenpista 1"),
+                new TransactionResponseDTO(2, 200, "Store 2", now, 1, "Tenpista 1")));
+        List<TransactionResponseDTO> exported = new ArrayList<>();
 
         // Act
-        List<TransactionResponseDTO> response = transactionService.getAllTransactions();
+        transactionService.exportTransactions(exported::add);
 
         // Assert
-        assertEquals(2, response.size());
-        verify(transactionRepository, times(1)).findAll();
+        assertEquals(2, exported.size());
+        verify(transactionRepository, times(1)).streamAll();
     }
 
     @Test
@@ -168,19 +395,114 @@ class TransactionServiceTest {
                 .build();
 
         when(transactionRepository.findById(transId)).thenReturn(Optional.of(existingTransaction));
-        when(tenpistaRepository.findById(tenpistaId)).thenReturn(Optional.of(tenpista));
-        when(transactionRepository.save(any(Transaction.class))).thenReturn(updatedTransaction);
+        when(tenpistaRepository.findNameById(tenpistaId)).thenReturn(Optional.of("Tenpista 1"));
+        when(transactionRepository.saveAndFlush(any(Transaction.class))).thenReturn(updatedTransaction);
 
         // Act
-        TransactionResponseDTO response = transactionService.updateTransaction(transId, request);
+        TransactionResponseDTO response = transactionService.updateTransaction(transId, request, null).body();
 
         // Assert
         assertNotNull(response);
         assertEquals(600, response.amount());
         assertEquals("Updated Store", response.merchantOrBusiness());
         verify(transactionRepository, times(1)).findById(transId);
-        verify(tenpistaRepository, times(1)).findById(tenpistaId);
-        verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(tenpistaRepository, times(1)).findNameById(tenpistaId);
+        verify(tenpistaRepository, never()).getReferenceById(any());
+        verify(transactionRepository, times(1)).saveAndFlush(any(Transaction.class));
+        verify(tenpistaRepository, never()).incrementTransactionCount(any(), anyInt());
+        verify(tenpistaRepository, never()).decrementTransactionCount(any());
+    }
+
+    @Test
+    @DisplayName("Should move counter slot when transaction is reassigned to another tenpista")
+    void shouldMoveCounterSlotWhenTransactionIsReassigned() {
+        // Arrange
+        Integer transId = 1001;
+        LocalDateTime now = LocalDateTime.now();
+        Tenpista oldTenpista = Tenpista.builder().id(1).name("Tenpista 1").rut("1-9").build();
+        Tenpista newTenpista = Tenpista.builder().id(2).name("Tenpista 2").rut("2-7").build();
+        Transaction existingTransaction = Transaction.builder()
+                .id(transId).amount(500).merchantOrBusiness("Store").date(now).tenpista(oldTenpista).build();
+        TransactionRequestDTO request = new TransactionRequestDTO(500, "Store", now, 2);
+
+        when(transactionRepository.findById(transId)).thenReturn(Optional.of(existingTransaction));
+        when(tenpistaRepository.findNameById(2)).thenReturn(Optional.of("Tenpista 2"));
+        when(tenpistaRepository.incrementTransactionCount(2, 100)).thenReturn(1);
+        when(tenpistaRepository.getReferenceById(2)).thenReturn(newTenpista);
+        when(transactionRepository.saveAndFlush(any(Transaction.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        TransactionResponseDTO response = transactionService.updateTransaction(transId, request, null).body();
+
+        // Assert
+        assertEquals(2, response.tenpistaId());
+        assertEquals("Tenpista 2", response.tenpistaName());
+        verify(tenpistaRepository, times(1)).incrementTransactionCount(2, 100);
+        verify(tenpistaRepository, times(1)).decrementTransactionCount(1);
+    }
+
+    @Test
+    @DisplayName("Should skip the update when nothing changed")
+    void shouldSkipUpdateWhenNothingChanged() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        Tenpista tenpista = Tenpista.builder().id(1).name("Tenpista 1").rut("1-9").build();
+        Transaction transaction = Transaction.builder()
+                .id(1001).amount(500).merchantOrBusiness("Store").date(now).tenpista(tenpista).version(2L).build();
+        when(transactionRepository.findById(1001)).thenReturn(Optional.of(transaction));
+        when(tenpistaRepository.findNameById(1)).thenReturn(Optional.of("Tenpista 1"));
+        when(resourceVersionService.version("tenpistas")).thenReturn(7L);
+
+        // Act
+        Versioned<TransactionResponseDTO> response = transactionService.updateTransaction(1001,
+                new TransactionRequestDTO(500, "Store", now, 1), "\"2-7\"");
+
+        // Assert
+        assertEquals("\"2-7\"", response.etag());
+        verify(transactionRepository, never()).saveAndFlush(any());
+        verify(resourceVersionService, never()).bump(any());
+    }
+
+    @Test
+    @DisplayName("Should reject update when If-Match is stale")
+    void shouldRejectUpdateWhenIfMatchIsStale() {
+        // Arrange
+        Tenpista tenpista = Tenpista.builder().id(1).name("Tenpista 1").rut("1-9").build();
+        Transaction transaction = Transaction.builder().id(1001).amount(500).merchantOrBusiness("Store")
+                .date(LocalDateTime.now()).tenpista(tenpista).version(3L).build();
+        when(transactionRepository.findById(1001)).thenReturn(Optional.of(transaction));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> transactionService.updateTransaction(1001,
+                new TransactionRequestDTO(600, "Store", LocalDateTime.now(), 1), "\"2-7\""));
+        verify(tenpistaRepository, never()).findNameById(any());
+        verify(transactionRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Should accept an earlier ETag after an unrelated tenpista was updated")
+    void shouldIgnoreTenpistaCounterInIfMatch() {
+        // Arrange: the client read "2-7"; updating some other tenpista has since bumped the counter to 8
+        LocalDateTime now = LocalDateTime.now();
+        Tenpista tenpista = Tenpista.builder().id(1).name("Tenpista 1").rut("1-9").build();
+        Transaction transaction = Transaction.builder()
+                .id(1001).amount(500).merchantOrBusiness("Store").date(now).tenpista(tenpista).version(2L).build();
+        when(transactionRepository.findById(1001)).thenReturn(Optional.of(transaction));
+        when(tenpistaRepository.findNameById(1)).thenReturn(Optional.of("Tenpista 1"));
+        when(resourceVersionService.version("tenpistas")).thenReturn(8L);
+        when(transactionRepository.saveAndFlush(transaction)).thenAnswer(invocation -> {
+            transaction.setVersion(3L);
+            return transaction;
+        });
+
+        // Act
+        Versioned<TransactionResponseDTO> response = transactionService.updateTransaction(1001,
+                new TransactionRequestDTO(600, "Store", now, 1), "\"2-7\"");
+
+        // Assert
+        assertEquals(600, response.body().amount());
+        assertEquals("\"3-8\"", response.etag());
     }
 
     @Test
@@ -188,12 +510,16 @@ class TransactionServiceTest {
     void shouldDeleteTransactionById() {
         // Arrange
         Integer id = 1001;
-        doNothing().when(transactionRepository).deleteById(id);
+        Tenpista tenpista = Tenpista.builder().id(1).name("Tenpista 1").rut("12345678-9").build();
+        Transaction transaction = Transaction.builder().id(id).amount(500).merchantOrBusiness("Store")
+                .date(LocalDateTime.now()).tenpista(tenpista).build();
+        when(transactionRepository.findById(id)).thenReturn(Optional.of(transaction));
 
         // Act
         transactionService.deleteTransaction(id);
 
         // Assert
-        verify(transactionRepository, times(1)).deleteById(id);
+        verify(transactionRepository, times(1)).delete(transaction);
+        verify(tenpistaRepository, times(1)).decrementTransactionCount(1);
     }
 }
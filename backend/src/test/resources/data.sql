@@ -0,0 +1,4 @@
+-- Mirrors the seed rows from V7__create_resource_versions.sql (Flyway is disabled in tests)
+INSERT INTO resource_versions (resource_name, version) VALUES ('tenpistas', 0), ('transactions', 0);
+-- Mirrors the watermark seed from V10__create_merchant_rollups.sql
+INSERT INTO rollup_watermarks (rollup_name, last_delta_id) VALUES ('merchants', 0);
@@ -1,9 +1,12 @@
 import axiosInstance from '../../../api/axiosInstance';
-import type { Transaction, CreateTransactionDTO, UpdateTransactionDTO } from '../types/transaction.types';
+import type { Transaction, TransactionPage, CreateTransactionDTO, UpdateTransactionDTO } from '../types/transaction.types';
+
+const PAGE_SIZE = 50;
 
 export const transactionsApi = {
-    getAll: async (): Promise<Transaction[]> => {
-        const { data } = await axiosInstance.get('/transactions');
+    // Newest first; pass the previous page's next_cursor to continue
+    getPage: async (after?: string, limit = PAGE_SIZE): Promise<TransactionPage> => {
+        const { data } = await axiosInstance.get('/transactions', { params: { after, limit, sort: 'desc' } });
         return data;
     },
     getById: async (id: number): Promise<Transaction> => {
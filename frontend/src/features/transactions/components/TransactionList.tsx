@@ -16,6 +16,9 @@ interface TransactionListProps {
     onFilterChange?: (tenpistaId: number | undefined) => void;
     error?: Error | null;
     onDismissError?: () => void;
+    hasMore?: boolean;
+    onLoadMore?: () => void;
+    isLoadingMore?: boolean;
 }
 
 export const TransactionList: React.FC<TransactionListProps> = ({
@@ -26,7 +29,10 @@ export const TransactionList: React.FC<TransactionListProps> = ({
     filterTenpistaId,
     onFilterChange,
     error,
-    onDismissError
+    onDismissError,
+    hasMore,
+    onLoadMore,
+    isLoadingMore
 }) => {
     const { tenpistas, isLoading: isLoadingTenpistas } = useTenpistas();
 
@@ -163,6 +169,15 @@ export const TransactionList: React.FC<TransactionListProps> = ({
                     </tbody>
                 </table>
             )}
+
+            {/* Filtering only sees loaded pages, so more can still match */}
+            {hasMore && onLoadMore && (
+                <div className="flex justify-center pt-4">
+                    <Button variant="outline" onClick={onLoadMore} isLoading={isLoadingMore}>
+                        Cargar más
+                    </Button>
+                </div>
+            )}
         </div>
     );
 };
@@ -113,4 +113,32 @@ describe('TransactionList Component', () => {
         if (editBtn) fireEvent.click(editBtn);
         expect(mockOnEdit).toHaveBeenCalledWith(mockTransactions[0]);
     });
+
+    it('loads the next page when more transactions are available', () => {
+        const mockOnLoadMore = vi.fn();
+        render(
+            <TransactionList
+                transactions={mockTransactions}
+                onEdit={mockOnEdit}
+                onDelete={mockOnDelete}
+                hasMore={true}
+                onLoadMore={mockOnLoadMore}
+            />
+        );
+        fireEvent.click(screen.getByText('Cargar más'));
+        expect(mockOnLoadMore).toHaveBeenCalledTimes(1);
+    });
+
+    it('hides load more on the last page', () => {
+        render(
+            <TransactionList
+                transactions={mockTransactions}
+                onEdit={mockOnEdit}
+                onDelete={mockOnDelete}
+                hasMore={false}
+                onLoadMore={vi.fn()}
+            />
+        );
+        expect(screen.queryByText('Cargar más')).toBeNull();
+    });
 });
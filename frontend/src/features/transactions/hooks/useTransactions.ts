@@ -1,18 +1,17 @@
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { useInfiniteQuery, useMutation, useQueryClient } from '@tanstack/react-query';
 import { transactionsApi } from '../api/transactions.api';
 import type { UpdateTransactionDTO } from '../types/transaction.types';
 
 export const useTransactions = () => {
     const queryClient = useQueryClient();
 
-    const transactionsQuery = useQuery({
+    // One page at a time, in the API's keyset order; later pages load on demand
+    const transactionsQuery = useInfiniteQuery({
         queryKey: ['transactions'],
-        queryFn: transactionsApi.getAll,
-        select: (data) => [...data].sort((a, b) => {
-            const nameCompare = a.tenpista_name.localeCompare(b.tenpista_name);
-            if (nameCompare !== 0) return nameCompare;
-            return new Date(b.date).getTime() - new Date(a.date).getTime();
-        }),
+        queryFn: ({ pageParam }) => transactionsApi.getPage(pageParam),
+        initialPageParam: undefined as string | undefined,
+        getNextPageParam: (lastPage) => lastPage.next_cursor ?? undefined,
+        select: (data) => data.pages.flatMap((page) => page.items),
     });
 
     const createTransactionMutation = useMutation({
@@ -42,6 +41,9 @@ export const useTransactions = () => {
         isLoading: transactionsQuery.isLoading,
         isError: transactionsQuery.isError,
         error: transactionsQuery.error,
+        hasMore: transactionsQuery.hasNextPage,
+        loadMore: transactionsQuery.fetchNextPage,
+        isLoadingMore: transactionsQuery.isFetchingNextPage,
         createTransaction: createTransactionMutation.mutateAsync,
         isCreating: createTransactionMutation.isPending,
         updateTransaction: updateTransactionMutation.mutateAsync,
@@ -7,5 +7,10 @@ export interface Transaction {
     tenpista_name: string;
 }
 
+export interface TransactionPage {
+    items: Transaction[];
+    next_cursor: string | null;
+}
+
 export type CreateTransactionDTO = Omit<Transaction, 'id' | 'tenpista_name'>;
 export type UpdateTransactionDTO = Partial<CreateTransactionDTO>;
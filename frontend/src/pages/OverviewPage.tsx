@@ -19,7 +19,7 @@ const StatCard = ({ title, value, icon: Icon, color, to }: { title: string, valu
 
 export const OverviewPage: React.FC = () => {
     const { tenpistas, isLoading: isLoadingTenpistas } = useTenpistas();
-    const { transactions, isLoading: isLoadingTransactions } = useTransactions();
+    const { transactions, isLoading: isLoadingTransactions, hasMore } = useTransactions();
 
     return (
         <div className="space-y-8">
@@ -38,7 +38,7 @@ export const OverviewPage: React.FC = () => {
                 />
                 <StatCard
                     title="Total Transacciones"
-                    value={isLoadingTransactions ? '...' : (transactions?.length || 0)}
+                    value={isLoadingTransactions ? '...' : `${transactions?.length || 0}${hasMore ? '+' : ''}`}
                     icon={BarChart3}
                     color="bg-emerald-500"
                     to="/transactions"
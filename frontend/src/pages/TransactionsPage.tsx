@@ -13,7 +13,7 @@ export const TransactionsPage: React.FC = () => {
 
     const [displayError, setDisplayError] = useState<Error | null>(null);
 
-    const { transactions, isLoading, error: queryError, createTransaction, updateTransaction, deleteTransaction } = useTransactions();
+    const { transactions, isLoading, error: queryError, hasMore, loadMore, isLoadingMore, createTransaction, updateTransaction, deleteTransaction } = useTransactions();
 
     // Combine query error and mutation error into single display error
     React.useEffect(() => {
@@ -59,6 +59,9 @@ export const TransactionsPage: React.FC = () => {
                 isLoading={isLoading}
                 error={displayError}
                 onDismissError={() => setDisplayError(null)}
+                hasMore={hasMore}
+                onLoadMore={() => loadMore()}
+                isLoadingMore={isLoadingMore}
             />
 
             <Modal
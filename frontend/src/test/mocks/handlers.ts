@@ -18,7 +18,7 @@ export const handlers = [
 
     // Transactions
     http.get(`${API_URL}/transaction`, () => {
-        return HttpResponse.json([]);
+        return HttpResponse.json({ items: [], next_cursor: null });
     }),
 
     http.post(`${API_URL}/transaction`, async ({ request }) => {